@@ -0,0 +1,110 @@
+package com.quiz.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quiz.dto.QuestionDTO;
+import com.quiz.dto.ScoreboardDTO;
+import com.quiz.live.LiveSession;
+import com.quiz.model.Quiz;
+import com.quiz.service.BenchmarkFixtures;
+import com.quiz.service.QuizService;
+import com.quiz.service.SessionService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the HashMap payloads built by WebSocketController,
+ * SessionController and SessionEventPublisher
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MessageSerializationBenchmark {
+
+    @Param({ "100", "1000", "10000" })
+    public int participantCount;
+
+    @Param({ "4" })
+    public int answersPerQuestion;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private Map<String, Object> answerResult;
+    private Map<String, Object> newQuestion;
+    private Map<String, Object> fullScoreboard;
+    private Map<String, Object> topScoreboard;
+    private Map<String, Object> rankUpdate;
+
+    @Setup
+    public void setup() {
+        Quiz quiz = BenchmarkFixtures.quiz(10, answersPerQuestion);
+        LiveSession live = BenchmarkFixtures.liveSession(quiz, BenchmarkFixtures.participants(participantCount));
+        QuestionDTO question = QuizService.toQuestionDTO(quiz.getQuestions().get(0));
+
+        answerResult = new HashMap<>();
+        answerResult.put("type", "ANSWER_RESULT");
+        answerResult.put("questionId", 1L);
+        answerResult.put("isCorrect", true);
+        answerResult.put("pointsEarned", 6);
+        answerResult.put("totalScore", 42);
+
+        newQuestion = new HashMap<>();
+        newQuestion.put("type", "NEW_QUESTION");
+        newQuestion.put("question", question);
+        newQuestion.put("questionIndex", 0);
+        newQuestion.put("totalQuestions", 10);
+
+        fullScoreboard = scoreboardMessage(SessionService.toScoreboard(live, null));
+        topScoreboard = scoreboardMessage(SessionService.toScoreboard(live, 10));
+
+        Map<String, Object> neighbour = new HashMap<>();
+        neighbour.put("firstName", "First1");
+        neighbour.put("lastName", "Last1");
+        neighbour.put("totalScore", 43);
+        rankUpdate = new HashMap<>();
+        rankUpdate.put("type", "RANK_UPDATE");
+        rankUpdate.put("rank", 2);
+        rankUpdate.put("totalScore", 42);
+        rankUpdate.put("totalParticipants", participantCount);
+        rankUpdate.put("above", neighbour);
+        rankUpdate.put("below", neighbour);
+    }
+
+    private static Map<String, Object> scoreboardMessage(ScoreboardDTO scoreboard) {
+        Map<String, Object> message = new HashMap<>();
+        message.put("type", "SCOREBOARD_UPDATE");
+        message.put("scoreboard", scoreboard);
+        return message;
+    }
+
+    @Benchmark
+    public byte[] answerResult() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(answerResult);
+    }
+
+    @Benchmark
+    public byte[] newQuestion() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(newQuestion);
+    }
+
+    @Benchmark
+    public byte[] fullScoreboard() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(fullScoreboard);
+    }
+
+    @Benchmark
+    public byte[] topScoreboard() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(topScoreboard);
+    }
+
+    @Benchmark
+    public byte[] rankUpdate() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(rankUpdate);
+    }
+}
@@ -0,0 +1,84 @@
+package com.quiz.service;
+
+import com.quiz.live.LiveParticipant;
+import com.quiz.live.LiveQuestion;
+import com.quiz.live.LiveSession;
+import com.quiz.model.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * In-memory entities for benchmarks, no database involved
+ */
+public final class BenchmarkFixtures {
+
+    private static final String[] LABELS = { "A", "B", "C", "D", "E", "F" };
+
+    private BenchmarkFixtures() {
+    }
+
+    public static Quiz quiz(int questionCount, int answersPerQuestion) {
+        Quiz quiz = new Quiz();
+        quiz.setId(1L);
+        quiz.setTitle("Benchmark quiz");
+        quiz.setDescription("Generated for benchmarks");
+        quiz.setTimePerQuestion(30);
+
+        long answerId = 1;
+        for (int i = 0; i < questionCount; i++) {
+            Question question = new Question();
+            question.setId((long) i + 1);
+            question.setText("Question number " + (i + 1) + " of the benchmark quiz?");
+            question.setPoints(1);
+            question.setQuestionOrder(i);
+            question.setQuiz(quiz);
+
+            for (int a = 0; a < answersPerQuestion; a++) {
+                Answer answer = new Answer();
+                answer.setId(answerId++);
+                answer.setLabel(LABELS[a % LABELS.length]);
+                answer.setText("Answer " + LABELS[a % LABELS.length] + " for question " + (i + 1));
+                answer.setIsCorrect(a == 0);
+                answer.setQuestion(question);
+                question.getAnswers().add(answer);
+            }
+            quiz.getQuestions().add(question);
+        }
+        return quiz;
+    }
+
+    /**
+     * Participants with random scores, sorted like findBySessionIdOrderByScoreDesc
+     */
+    public static List<Participant> participants(int count) {
+        Random random = new Random(42);
+        List<Participant> participants = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Participant participant = new Participant();
+            participant.setId((long) i + 1);
+            participant.setFirstName("First" + i);
+            participant.setLastName("Last" + i);
+            participant.setTotalScore(random.nextInt(100));
+            participant.setTotalResponseTime((long) random.nextInt(60_000));
+            participants.add(participant);
+        }
+        participants.sort(Comparator.comparing(Participant::getTotalScore).reversed()
+                .thenComparing(Participant::getTotalResponseTime));
+        return participants;
+    }
+
+    public static LiveSession liveSession(Quiz quiz, List<Participant> participants) {
+        List<LiveQuestion> questions = new ArrayList<>();
+        for (int i = 0; i < quiz.getQuestions().size(); i++) {
+            questions.add(new LiveQuestion(quiz.getQuestions().get(i), i));
+        }
+        LiveSession live = new LiveSession(1L, "BENCH1", quiz.getId(), true, questions);
+        for (Participant participant : participants) {
+            live.addParticipant(new LiveParticipant(participant));
+        }
+        return live;
+    }
+}
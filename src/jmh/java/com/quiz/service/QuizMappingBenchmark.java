@@ -0,0 +1,40 @@
+package com.quiz.service;
+
+import com.quiz.dto.QuestionDTO;
+import com.quiz.dto.QuizDTO;
+import com.quiz.model.Question;
+import com.quiz.model.Quiz;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QuizMappingBenchmark {
+
+    @Param({ "10", "100", "1000" })
+    public int questionCount;
+
+    private Quiz quiz;
+    private Question question;
+
+    @Setup
+    public void setup() {
+        quiz = BenchmarkFixtures.quiz(questionCount, 4);
+        question = quiz.getQuestions().get(0);
+    }
+
+    @Benchmark
+    public QuizDTO toDTO() {
+        return QuizService.toDTO(quiz);
+    }
+
+    @Benchmark
+    public QuestionDTO toQuestionDTO() {
+        return QuizService.toQuestionDTO(question);
+    }
+}
@@ -0,0 +1,57 @@
+package com.quiz.service;
+
+import com.quiz.dto.ParticipantDTO;
+import com.quiz.dto.ScoreboardDTO;
+import com.quiz.live.Leaderboard;
+import com.quiz.live.LiveSession;
+import com.quiz.model.Participant;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RankingBenchmark {
+
+    @Param({ "100", "1000", "10000" })
+    public int participantCount;
+
+    private List<Participant> participants;
+    private LiveSession live;
+
+    @Setup
+    public void setup() {
+        participants = BenchmarkFixtures.participants(participantCount);
+        live = BenchmarkFixtures.liveSession(BenchmarkFixtures.quiz(10, 4), participants);
+    }
+
+    @Benchmark
+    public List<ParticipantDTO> rankedDTOsFromQuery() {
+        return SessionService.toRankedParticipantDTOs(participants);
+    }
+
+    @Benchmark
+    public ScoreboardDTO scoreboardFromLeaderboard() {
+        return SessionService.toScoreboard(live, null);
+    }
+
+    @Benchmark
+    public ScoreboardDTO top10FromLeaderboard() {
+        return SessionService.toScoreboard(live, 10);
+    }
+
+    @Benchmark
+    public int leaderboardUpdateAndRank() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Long participantId = (long) random.nextInt(participantCount) + 1;
+        Leaderboard leaderboard = live.getLeaderboard();
+        leaderboard.update(participantId, random.nextInt(100), random.nextInt(60_000));
+        return leaderboard.rank(participantId);
+    }
+}
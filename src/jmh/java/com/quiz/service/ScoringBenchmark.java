@@ -0,0 +1,40 @@
+package com.quiz.service;
+
+import com.quiz.model.Answer;
+import com.quiz.model.Question;
+import com.quiz.model.Quiz;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ScoringBenchmark {
+
+    private Question question;
+    private Answer correct;
+    private Answer wrong;
+
+    @Setup
+    public void setup() {
+        Quiz quiz = BenchmarkFixtures.quiz(1, 4);
+        question = quiz.getQuestions().get(0);
+        correct = question.getAnswers().get(0);
+        wrong = question.getAnswers().get(1);
+    }
+
+    @Benchmark
+    public int calculateScoreCorrect() {
+        return ScoringService.calculateScore(question, correct, ThreadLocalRandom.current().nextLong(30_000));
+    }
+
+    @Benchmark
+    public int calculateScoreWrong() {
+        return ScoringService.calculateScore(question, wrong, ThreadLocalRandom.current().nextLong(30_000));
+    }
+}
@@ -0,0 +1,119 @@
+package com.quiz.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Join throughput on Tomcat platform threads versus virtual threads. Starts the
+ * application once per mode and fires {@code joins} REST joins at one session with
+ * {@code concurrency} requests in flight, after a warm-up session of the same size.
+ *
+ * <pre>
+ * mvn -Pjava21,loadtest compile exec:java -Dexec.args="scenario=joins joins=5000 concurrency=2000"
+ * </pre>
+ *
+ * Virtual threads need a Java 21 runtime; on older runtimes both rows use platform threads.
+ */
+public class JoinStormBenchmark {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient http = HttpClient.newBuilder().executor(Executors.newFixedThreadPool(32)).build();
+
+    private final Map<String, String> options;
+    private final int joins;
+    private final int concurrency;
+
+    JoinStormBenchmark(Map<String, String> options) {
+        this.options = options;
+        this.joins = Integer.parseInt(options.getOrDefault("joins", "5000"));
+        this.concurrency = Integer.parseInt(options.getOrDefault("concurrency", "2000"));
+    }
+
+    void run() throws Exception {
+        System.out.printf("Join storm: %d joins, %d in flight, Java %d%n",
+                joins, concurrency, Runtime.version().feature());
+        if (Runtime.version().feature() < 21) {
+            System.out.println("Java 21 is required for virtual threads; the virtual row runs on platform threads");
+        }
+
+        List<String> rows = new ArrayList<>();
+        for (boolean virtual : new boolean[] { false, true }) {
+            Map<String, String> modeOptions = new HashMap<>(options);
+            modeOptions.put("virtual", String.valueOf(virtual));
+            try (ConfigurableApplicationContext app = LoadTestHarness.startApplication(modeOptions)) {
+                String baseUrl = "http://localhost:"
+                        + app.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+                storm(baseUrl, "warm-up");
+                rows.add(storm(baseUrl, virtual ? "virtual threads" : "platform threads"));
+            }
+        }
+        rows.forEach(System.out::println);
+    }
+
+    private String storm(String baseUrl, String label) throws Exception {
+        JsonNode quiz = post(baseUrl + "/api/quizzes", Map.of("title", "Join storm", "questions", List.of()));
+        String code = post(baseUrl + "/api/sessions/create/" + quiz.get("id").asLong(), null).get("code").asText();
+
+        LatencyRecorder latency = new LatencyRecorder(joins);
+        AtomicInteger failed = new AtomicInteger();
+        Semaphore inFlight = new Semaphore(concurrency);
+        List<CompletableFuture<Void>> requests = new ArrayList<>(joins);
+        long start = System.nanoTime();
+        for (int i = 0; i < joins; i++) {
+            Map<String, Object> request = new LinkedHashMap<>();
+            request.put("sessionCode", code);
+            request.put("firstName", "Storm");
+            request.put("lastName", "Joiner" + i);
+
+            inFlight.acquire();
+            long sent = System.nanoTime();
+            requests.add(http.sendAsync(jsonRequest(baseUrl + "/api/sessions/join", request),
+                            HttpResponse.BodyHandlers.discarding())
+                    .handle((response, e) -> {
+                        latency.record(System.nanoTime() - sent);
+                        if (e != null || response.statusCode() != 200) {
+                            failed.incrementAndGet();
+                        }
+                        inFlight.release();
+                        return null;
+                    }));
+        }
+        CompletableFuture.allOf(requests.toArray(new CompletableFuture[0])).join();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        return String.format("%-16s %6.0f joins/s, %d failed | %s",
+                label, joins / seconds, failed.get(), latency.report("latency"));
+    }
+
+    private JsonNode post(String url, Object body) throws Exception {
+        HttpResponse<String> response = http.send(jsonRequest(url, body), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 400) {
+            throw new IllegalStateException("POST " + url + " failed: " + response.statusCode() + " " + response.body());
+        }
+        return objectMapper.readTree(response.body());
+    }
+
+    private HttpRequest jsonRequest(String url, Object body) throws Exception {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(body != null
+                        ? HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body))
+                        : HttpRequest.BodyPublishers.noBody())
+                .build();
+    }
+}
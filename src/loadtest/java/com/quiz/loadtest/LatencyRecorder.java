@@ -0,0 +1,53 @@
+package com.quiz.loadtest;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fixed-capacity latency sample store with percentile reporting
+ */
+public class LatencyRecorder {
+
+    private final long[] samples;
+    private final AtomicInteger count = new AtomicInteger();
+
+    public LatencyRecorder(int capacity) {
+        this.samples = new long[capacity];
+    }
+
+    public void record(long nanos) {
+        int index = count.getAndIncrement();
+        if (index < samples.length) {
+            samples[index] = nanos;
+        }
+    }
+
+    public int getCount() {
+        return Math.min(count.get(), samples.length);
+    }
+
+    public String report(String name) {
+        int n = getCount();
+        if (n == 0) {
+            return name + ": no samples";
+        }
+        long[] sorted = Arrays.copyOf(samples, n);
+        Arrays.sort(sorted);
+        return String.format("%s: n=%d p50=%.2fms p99=%.2fms p999=%.2fms max=%.2fms",
+                name, n,
+                millis(percentile(sorted, 0.50)),
+                millis(percentile(sorted, 0.99)),
+                millis(percentile(sorted, 0.999)),
+                millis(sorted[n - 1]));
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,347 @@
+package com.quiz.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quiz.QuizApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.lang.reflect.Type;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Self-contained STOMP load test. Starts the application against an in-memory H2
+ * database and the in-JVM broker, joins {@code clients} participants over REST,
+ * connects one STOMP WebSocket per participant on /ws and has every participant
+ * answer every question. Reports NEW_QUESTION fan-out and answer-to-ANSWER_RESULT
+ * latency percentiles and throughput.
+ *
+ * <pre>
+ * mvn -Ploadtest compile exec:java -Dexec.args="clients=2000 questions=5 spreadMs=2000"
+ * </pre>
+ *
+ * {@code scenario=joins} runs {@link JoinStormBenchmark} instead; {@code virtual=true}
+ * serves requests on virtual threads (Java 21).
+ */
+public class LoadTestHarness {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient http = HttpClient.newBuilder().executor(Executors.newFixedThreadPool(32)).build();
+
+    private final int clients;
+    private final int questions;
+    private final int spreadMs;
+    private final int concurrency;
+    private final String baseUrl;
+    private final String webSocketUrl;
+
+    LoadTestHarness(Map<String, String> options, int port) {
+        this.clients = Integer.parseInt(options.getOrDefault("clients", "1000"));
+        this.questions = Integer.parseInt(options.getOrDefault("questions", "5"));
+        this.spreadMs = Integer.parseInt(options.getOrDefault("spreadMs", "2000"));
+        this.concurrency = Integer.parseInt(options.getOrDefault("concurrency", "50"));
+        this.baseUrl = "http://localhost:" + port;
+        this.webSocketUrl = "ws://localhost:" + port + "/ws";
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        int status = 0;
+        try {
+            if ("joins".equals(options.get("scenario"))) {
+                new JoinStormBenchmark(options).run();
+            } else {
+                try (ConfigurableApplicationContext app = startApplication(options)) {
+                    int port = app.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+                    new LoadTestHarness(options, port).run();
+                }
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+            status = 1;
+        }
+        // Web server and broker threads are non-daemon
+        System.exit(status);
+    }
+
+    static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq > 0) {
+                options.put(arg.substring(0, eq).replaceFirst("^--", ""), arg.substring(eq + 1));
+            }
+        }
+        return options;
+    }
+
+    /**
+     * Application wired to H2 and the in-JVM broker, no external services
+     */
+    static ConfigurableApplicationContext startApplication(Map<String, String> options) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("server.port", 0);
+        properties.put("spring.datasource.url",
+                "jdbc:h2:mem:loadtest;MODE=MySQL;DB_CLOSE_DELAY=-1;IGNORE_UNKNOWN_SETTINGS=TRUE");
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.datasource.driver-class-name", "org.h2.Driver");
+        properties.put("spring.datasource.hikari.maximum-pool-size", 20);
+        properties.put("spring.jpa.properties.hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+        properties.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+        properties.put("app.admin.username", "admin");
+        properties.put("app.admin.password", "admin");
+        properties.put("app.cors.allowed-origins", "*");
+        properties.put("spring.rabbitmq.host", "localhost");
+        properties.put("spring.rabbitmq.port", 61613);
+        properties.put("spring.rabbitmq.username", "guest");
+        properties.put("spring.rabbitmq.password", "guest");
+        properties.put("spring.rabbitmq.virtual-host", "/");
+        properties.put("app.export.fetch-size", 1000);
+        properties.put("app.session-codes.key", "loadtest");
+        properties.put("app.broker.mode", options.getOrDefault("broker", "inproc"));
+        properties.put("spring.threads.virtual.enabled", options.getOrDefault("virtual", "false"));
+        properties.put("logging.level.root", "WARN");
+        properties.put("logging.level.com.quiz", "WARN");
+        properties.put("spring.main.banner-mode", "off");
+
+        // As command-line arguments so they override application.properties
+        String[] args = properties.entrySet().stream()
+                .map(e -> "--" + e.getKey() + "=" + e.getValue())
+                .toArray(String[]::new);
+        return new SpringApplicationBuilder(QuizApplication.class).run(args);
+    }
+
+    void run() throws Exception {
+        System.out.printf("Load test: %d clients, %d questions, answers spread over %d ms%n",
+                clients, questions, spreadMs);
+
+        JsonNode quiz = post("/api/quizzes", quizPayload());
+        JsonNode session = post("/api/sessions/create/" + quiz.get("id").asLong(), null);
+        long sessionId = session.get("id").asLong();
+        String code = session.get("code").asText();
+
+        // Join over REST
+        LatencyRecorder joinLatency = new LatencyRecorder(clients);
+        long[] participantIds = join(code, joinLatency);
+        System.out.println(joinLatency.report("join"));
+
+        // One STOMP connection per participant
+        AtomicLongArray sentAt = new AtomicLongArray(clients);
+        LatencyRecorder answerLatency = new LatencyRecorder(clients * questions);
+        LatencyRecorder broadcastLatency = new LatencyRecorder(clients * questions);
+        AtomicLong shownAt = new AtomicLong();
+        AtomicInteger errors = new AtomicInteger();
+        CountDownLatch[] results = new CountDownLatch[1];
+        List<StompSession> sessions = connect(code, participantIds, sentAt, answerLatency, errors, results,
+                shownAt, broadcastLatency);
+        Thread.sleep(1000); // let the last SUBSCRIBE frames reach the broker
+
+        post("/api/sessions/" + sessionId + "/start", null);
+
+        ScheduledExecutorService senders = Executors.newScheduledThreadPool(16);
+        long answeringNanos = 0;
+        for (int q = 0; q < questions; q++) {
+            shownAt.set(System.nanoTime());
+            JsonNode question = post("/api/sessions/" + sessionId + "/question/" + q, null);
+            long questionId = question.get("id").asLong();
+            JsonNode answers = question.get("answers");
+
+            results[0] = new CountDownLatch(clients);
+            long start = System.nanoTime();
+            for (int i = 0; i < clients; i++) {
+                int index = i;
+                long answerId = answers.get(ThreadLocalRandom.current().nextInt(answers.size())).get("id").asLong();
+                senders.schedule(() -> {
+                    Map<String, Object> payload = new HashMap<>();
+                    payload.put("participantId", participantIds[index]);
+                    payload.put("questionId", questionId);
+                    payload.put("answerId", answerId);
+                    sentAt.set(index, System.nanoTime());
+                    sessions.get(index).send("/app/session/" + code + "/answer", payload);
+                }, ThreadLocalRandom.current().nextInt(Math.max(1, spreadMs)), TimeUnit.MILLISECONDS);
+            }
+
+            if (!results[0].await(spreadMs + 30_000L, TimeUnit.MILLISECONDS)) {
+                System.out.printf("Question %d: %d results missing%n", q, results[0].getCount());
+            }
+            answeringNanos += System.nanoTime() - start;
+            post("/api/sessions/" + sessionId + "/end-question", null);
+        }
+        senders.shutdownNow();
+
+        // Before finishing: SESSION_ENDED carries the full scoreboard, which outgrows the
+        // client's 8 KB frame buffer and would close the connections under us
+        for (StompSession stompSession : sessions) {
+            stompSession.disconnect();
+        }
+        Thread.sleep(1000); // let DISCONNECT frames drain
+        post("/api/sessions/" + sessionId + "/finish", null);
+
+        System.out.println(broadcastLatency.report("show -> NEW_QUESTION"));
+        System.out.println(answerLatency.report("answer -> ANSWER_RESULT"));
+        System.out.printf("throughput: %.0f answers/s over %d answers, %d errors%n",
+                answerLatency.getCount() / (answeringNanos / 1e9), answerLatency.getCount(), errors.get());
+    }
+
+    private long[] join(String code, LatencyRecorder joinLatency) throws Exception {
+        long[] participantIds = new long[clients];
+        Semaphore inFlight = new Semaphore(concurrency);
+        List<CompletableFuture<Void>> joins = new ArrayList<>(clients);
+        for (int i = 0; i < clients; i++) {
+            int index = i;
+            Map<String, Object> request = new HashMap<>();
+            request.put("sessionCode", code);
+            request.put("firstName", "Load");
+            request.put("lastName", "Tester" + i);
+
+            inFlight.acquire();
+            long start = System.nanoTime();
+            joins.add(http.sendAsync(jsonRequest("/api/sessions/join", request), HttpResponse.BodyHandlers.ofString())
+                    .thenAccept(response -> {
+                        joinLatency.record(System.nanoTime() - start);
+                        if (response.statusCode() != 200) {
+                            throw new IllegalStateException("Join failed: " + response.body());
+                        }
+                        participantIds[index] = readJson(response.body()).get("id").asLong();
+                    })
+                    .whenComplete((v, e) -> inFlight.release()));
+        }
+        CompletableFuture.allOf(joins.toArray(new CompletableFuture[0])).join();
+        return participantIds;
+    }
+
+    private List<StompSession> connect(String code, long[] participantIds, AtomicLongArray sentAt,
+            LatencyRecorder answerLatency, AtomicInteger errors, CountDownLatch[] results,
+            AtomicLong shownAt, LatencyRecorder broadcastLatency) throws Exception {
+        WebSocketStompClient stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+        stompClient.setMessageConverter(new MappingJackson2MessageConverter());
+
+        List<StompSession> sessions = new ArrayList<>(clients);
+        Semaphore inFlight = new Semaphore(concurrency);
+        List<CompletableFuture<StompSession>> connections = new ArrayList<>(clients);
+        for (int i = 0; i < clients; i++) {
+            inFlight.acquire();
+            connections.add(stompClient.connectAsync(webSocketUrl, new StompSessionHandlerAdapter() {
+            }).whenComplete((s, e) -> inFlight.release()));
+        }
+
+        for (int i = 0; i < clients; i++) {
+            int index = i;
+            StompSession session = connections.get(i).get(30, TimeUnit.SECONDS);
+            session.subscribe("/exchange/amq.topic/session." + code + ".participant." + participantIds[i],
+                    new StompFrameHandler() {
+                        @Override
+                        public Type getPayloadType(StompHeaders headers) {
+                            return Map.class;
+                        }
+
+                        @Override
+                        public void handleFrame(StompHeaders headers, Object payload) {
+                            Object type = ((Map<?, ?>) payload).get("type");
+                            if ("ANSWER_RESULT".equals(type)) {
+                                answerLatency.record(System.nanoTime() - sentAt.get(index));
+                                results[0].countDown();
+                            } else if ("ERROR".equals(type)) {
+                                errors.incrementAndGet();
+                                results[0].countDown();
+                            }
+                        }
+                    });
+            session.subscribe("/exchange/amq.topic/session." + code, new StompFrameHandler() {
+                @Override
+                public Type getPayloadType(StompHeaders headers) {
+                    return Map.class;
+                }
+
+                @Override
+                public void handleFrame(StompHeaders headers, Object payload) {
+                    if ("NEW_QUESTION".equals(((Map<?, ?>) payload).get("type"))) {
+                        broadcastLatency.record(System.nanoTime() - shownAt.get());
+                    }
+                }
+            });
+            sessions.add(session);
+        }
+        System.out.printf("Connected %d STOMP clients%n", sessions.size());
+        return sessions;
+    }
+
+    private Map<String, Object> quizPayload() {
+        List<Map<String, Object>> questionList = new ArrayList<>();
+        for (int q = 0; q < questions; q++) {
+            List<Map<String, Object>> answers = new ArrayList<>();
+            for (String label : new String[] { "A", "B", "C", "D" }) {
+                Map<String, Object> answer = new HashMap<>();
+                answer.put("label", label);
+                answer.put("text", "Answer " + label);
+                answer.put("isCorrect", "A".equals(label));
+                answers.add(answer);
+            }
+            Map<String, Object> question = new HashMap<>();
+            question.put("text", "Load test question " + (q + 1));
+            question.put("points", 1);
+            question.put("answers", answers);
+            questionList.add(question);
+        }
+        Map<String, Object> quiz = new HashMap<>();
+        quiz.put("title", "Load test");
+        quiz.put("timePerQuestion", Math.max(30, spreadMs / 1000 + 10));
+        quiz.put("questions", questionList);
+        return quiz;
+    }
+
+    private JsonNode post(String path, Object body) throws Exception {
+        HttpResponse<String> response = http.send(jsonRequest(path, body), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 400) {
+            throw new IllegalStateException("POST " + path + " failed: " + response.statusCode() + " " + response.body());
+        }
+        return readJson(response.body());
+    }
+
+    private HttpRequest jsonRequest(String path, Object body) {
+        try {
+            return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .header("Content-Type", "application/json")
+                    .POST(body != null
+                            ? HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body))
+                            : HttpRequest.BodyPublishers.noBody())
+                    .build();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private JsonNode readJson(String body) {
+        try {
+            return objectMapper.readTree(body);
+        } catch (Exception e) {
+            throw new IllegalStateException("Invalid JSON: " + body, e);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.quiz.config;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
+
+/**
+ * app.broker.mode=inproc: broadcasts fan out inside the JVM without the
+ * RabbitMQ hop, using the same /exchange/amq.topic/session.* destinations.
+ * Only suitable for single-node deployments; every client must be connected
+ * to this instance.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.broker.mode", havingValue = "inproc")
+public class InProcessBrokerConfig {
+
+    @Bean
+    public static BeanPostProcessor sessionSubscriptionRegistryInstaller() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+                if (bean instanceof SimpleBrokerMessageHandler handler) {
+                    handler.setSubscriptionRegistry(new SessionSubscriptionRegistry());
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,191 @@
+package com.quiz.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.MessageHandlingRunnable;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Executor for the client inbound channel that runs every frame of a quiz session
+ * on the same worker thread, in arrival order. Frames sent to /app/session/{code}/...
+ * and subscriptions to the session's topics (/exchange/amq.topic/session.{code}...)
+ * are sharded by session code, so a client's SUBSCRIBE is handled before the SENDs
+ * that follow it. Everything else (CONNECT, UNSUBSCRIBE, DISCONNECT) goes by
+ * WebSocket session id. A slow session only delays the sessions sharing its shard.
+ *
+ * Each shard has a bounded queue. When it is full the sending connection's thread
+ * waits up to the offer timeout, which pushes back on that client's socket; after
+ * that the frame is rejected and dropped by the channel.
+ *
+ * On context close the shards stop before the other channel executors: queued
+ * frames are discarded, frames in progress finish while the outbound channel can
+ * still deliver their replies, and frames arriving later are dropped.
+ */
+@Slf4j
+public class SessionShardedExecutor extends ThreadPoolTaskExecutor implements Ordered {
+
+    private static final String SESSION_PREFIX = "/app/session/";
+    private static final String TOPIC_PREFIX = "/exchange/amq.topic/session.";
+    private static final long POLL_MS = 100;
+    private static final long STOP_WAIT_MS = 2000;
+
+    private final int shardCount;
+    private final int queueCapacity;
+    private final long offerTimeoutMs;
+    private final List<BlockingQueue<Runnable>> queues = new ArrayList<>();
+    private final List<Thread> workers = new ArrayList<>();
+    private final AtomicBoolean accepting = new AtomicBoolean(true);
+
+    public SessionShardedExecutor(int shardCount, int queueCapacity, long offerTimeoutMs) {
+        this.shardCount = shardCount;
+        this.queueCapacity = queueCapacity;
+        this.offerTimeoutMs = offerTimeoutMs;
+        // The inherited pool only serves tasks submitted outside the channel
+        setCorePoolSize(1);
+        setMaxPoolSize(1);
+        setThreadNamePrefix("inbound-pool-");
+    }
+
+    @Override
+    protected ExecutorService initializeExecutor(ThreadFactory threadFactory,
+            RejectedExecutionHandler rejectedExecutionHandler) {
+        for (int i = 0; i < shardCount; i++) {
+            BlockingQueue<Runnable> queue = new ArrayBlockingQueue<>(queueCapacity);
+            Thread worker = new Thread(() -> drain(queue), "inbound-shard-" + i);
+            worker.setDaemon(true);
+            queues.add(queue);
+            workers.add(worker);
+            worker.start();
+        }
+        log.info("Client inbound channel sharded over {} workers, {} frames queued per shard",
+                shardCount, queueCapacity);
+        return super.initializeExecutor(threadFactory, rejectedExecutionHandler);
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (!accepting.get()) {
+            log.debug("Inbound frame dropped, the channel is shutting down");
+            return;
+        }
+        BlockingQueue<Runnable> queue = queues.get(Math.floorMod(shardKey(task).hashCode(), shardCount));
+        try {
+            if (!queue.offer(task, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new TaskRejectedException("Inbound shard queue full (" + queueCapacity + " frames)");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TaskRejectedException("Interrupted while waiting for inbound shard queue", e);
+        }
+    }
+
+    /**
+     * Frames waiting in each shard
+     */
+    public int[] getQueueDepths() {
+        int[] depths = new int[queues.size()];
+        for (int i = 0; i < depths.length; i++) {
+            depths[i] = queues.get(i).size();
+        }
+        return depths;
+    }
+
+    /**
+     * Context close listeners run in this order, so the shards stop ahead of the
+     * outbound channel's executor
+     */
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    @Override
+    public void initiateShutdown() {
+        stopShards();
+        super.initiateShutdown();
+    }
+
+    @Override
+    public void shutdown() {
+        stopShards();
+        super.shutdown();
+    }
+
+    private void stopShards() {
+        if (!accepting.compareAndSet(true, false)) {
+            return;
+        }
+        List<Runnable> discarded = new ArrayList<>();
+        for (BlockingQueue<Runnable> queue : queues) {
+            queue.drainTo(discarded);
+        }
+        long deadline = System.currentTimeMillis() + STOP_WAIT_MS;
+        for (Thread worker : workers) {
+            try {
+                worker.join(Math.max(1, deadline - System.currentTimeMillis()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        workers.forEach(Thread::interrupt);
+        log.info("Client inbound channel stopped, {} queued frames discarded", discarded.size());
+    }
+
+    private static String shardKey(Runnable task) {
+        if (!(task instanceof MessageHandlingRunnable handling)) {
+            return "";
+        }
+        Message<?> message = handling.getMessage();
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        if (destination != null && destination.startsWith(SESSION_PREFIX)) {
+            return sessionCode(destination, SESSION_PREFIX.length(), '/');
+        }
+        if (destination != null && destination.startsWith(TOPIC_PREFIX)) {
+            return sessionCode(destination, TOPIC_PREFIX.length(), '.');
+        }
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        return sessionId != null ? sessionId : "";
+    }
+
+    private static String sessionCode(String destination, int start, char separator) {
+        int end = destination.indexOf(separator, start);
+        return (end < 0 ? destination.substring(start) : destination.substring(start, end)).toUpperCase();
+    }
+
+    private void drain(BlockingQueue<Runnable> queue) {
+        while (accepting.get()) {
+            Runnable task;
+            try {
+                task = queue.poll(POLL_MS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (task == null) {
+                continue;
+            }
+            try {
+                task.run();
+            } catch (Throwable e) {
+                if (accepting.get()) {
+                    log.error("Inbound frame failed: {}", e.getMessage(), e);
+                } else {
+                    log.debug("Inbound frame failed during shutdown: {}", e.getMessage());
+                }
+            }
+        }
+    }
+}
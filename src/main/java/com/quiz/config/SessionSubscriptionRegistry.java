@@ -0,0 +1,91 @@
+package com.quiz.config;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.broker.AbstractSubscriptionRegistry;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.MultiValueMap;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Exact-match subscription registry for the in-process broker.
+ * Each destination (e.g. session.ABC123) keeps its own subscriber set, so a
+ * broadcast is a single map lookup instead of pattern-matching every subscription.
+ * Wildcard destinations and selector headers are not supported.
+ */
+public class SessionSubscriptionRegistry extends AbstractSubscriptionRegistry {
+
+    private static final MultiValueMap<String, String> NO_SUBSCRIBERS =
+            CollectionUtils.unmodifiableMultiValueMap(CollectionUtils.toMultiValueMap(Collections.emptyMap()));
+
+    // destination -> (websocket session id -> subscription ids)
+    private final Map<String, Map<String, List<String>>> subscribers = new ConcurrentHashMap<>();
+
+    // websocket session id -> (subscription id -> destination), for unsubscribe/disconnect
+    private final Map<String, Map<String, String>> sessions = new ConcurrentHashMap<>();
+
+    @Override
+    protected void addSubscriptionInternal(String sessionId, String subscriptionId, String destination,
+            Message<?> message) {
+        // compute() holds the destination's bin lock, so a concurrent removal
+        // cannot drop the map between creating and populating it
+        subscribers.compute(destination, (d, destinationSubscribers) -> {
+            if (destinationSubscribers == null) {
+                destinationSubscribers = new ConcurrentHashMap<>();
+            }
+            destinationSubscribers.computeIfAbsent(sessionId, s -> new CopyOnWriteArrayList<>()).add(subscriptionId);
+            return destinationSubscribers;
+        });
+        sessions.computeIfAbsent(sessionId, s -> new ConcurrentHashMap<>())
+                .put(subscriptionId, destination);
+    }
+
+    @Override
+    protected void removeSubscriptionInternal(String sessionId, String subscriptionId, Message<?> message) {
+        Map<String, String> subscriptions = sessions.get(sessionId);
+        if (subscriptions == null) {
+            return;
+        }
+        String destination = subscriptions.remove(subscriptionId);
+        if (destination != null) {
+            removeSubscriber(destination, sessionId, subscriptionId);
+        }
+    }
+
+    @Override
+    public void unregisterAllSubscriptions(String sessionId) {
+        Map<String, String> subscriptions = sessions.remove(sessionId);
+        if (subscriptions == null) {
+            return;
+        }
+        subscriptions.forEach((subscriptionId, destination) ->
+                removeSubscriber(destination, sessionId, subscriptionId));
+    }
+
+    /**
+     * Live view of the destination's subscribers; the broker iterates it
+     * while joins and disconnects keep modifying the underlying maps
+     */
+    @Override
+    protected MultiValueMap<String, String> findSubscriptionsInternal(String destination, Message<?> message) {
+        Map<String, List<String>> destinationSubscribers = subscribers.get(destination);
+        if (destinationSubscribers == null) {
+            return NO_SUBSCRIBERS;
+        }
+        return CollectionUtils.toMultiValueMap(destinationSubscribers);
+    }
+
+    private void removeSubscriber(String destination, String sessionId, String subscriptionId) {
+        subscribers.computeIfPresent(destination, (d, destinationSubscribers) -> {
+            destinationSubscribers.computeIfPresent(sessionId, (s, ids) -> {
+                ids.remove(subscriptionId);
+                return ids.isEmpty() ? null : ids;
+            });
+            return destinationSubscribers.isEmpty() ? null : destinationSubscribers;
+        });
+    }
+}
@@ -0,0 +1,26 @@
+package com.quiz.config;
+
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timer;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class TimerConfig {
+
+    /**
+     * Single hashed-wheel timer shared by every session timeline.
+     * Timeouts are O(1) to schedule and cancel, and one thread serves all sessions;
+     * tasks must hand blocking work off to another executor.
+     */
+    @Bean(destroyMethod = "stop")
+    public Timer sessionTimer(@Value("${app.timer.tick-ms:50}") long tickMs,
+            @Value("${app.timer.wheel-size:512}") int wheelSize) {
+        return new HashedWheelTimer(new DefaultThreadFactory("session-timer", true),
+                tickMs, TimeUnit.MILLISECONDS, wheelSize);
+    }
+}
@@ -1,5 +1,9 @@
 package com.quiz.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
@@ -9,7 +13,16 @@ import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerCo
 
 @Configuration
 @EnableWebSocketMessageBroker
+@RequiredArgsConstructor
+@Slf4j
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
+
+    /**
+     * Monotonic receive time (System.nanoTime) stamped on every inbound SEND frame
+     */
+    public static final String RECEIVED_AT_HEADER = "receivedAtNanos";
+
+    private final MeterRegistry meterRegistry;
 	
 	@Value("${spring.rabbitmq.host}")
     private String rabbitHost;
@@ -26,21 +39,64 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     @Value("${spring.rabbitmq.virtual-host}")
     private String rabbitVhost;
 
+    // relay = RabbitMQ STOMP relay, simple = Spring's in-JVM broker,
+    // inproc = in-JVM broker with exact-match session subscriptions (see InProcessBrokerConfig)
+    @Value("${app.broker.mode:relay}")
+    private String brokerMode;
+
+    // Client inbound frames run on per-session shards (see SessionShardedExecutor)
+    @Value("${app.inbound.shards:8}")
+    private int inboundShards;
+
+    @Value("${app.inbound.queue-capacity:10000}")
+    private int inboundQueueCapacity;
+
+    @Value("${app.inbound.offer-timeout-ms:1000}")
+    private long inboundOfferTimeoutMs;
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
         // Enable rabbitMQ message broker
         // /topic for broadcasting to all subscribers
         // /queue for point-to-point messaging
     	//config.enableStompBrokerRelay("/topic", "/queue")
-    	config.enableStompBrokerRelay("/exchange", "/queue")
-        .setRelayHost(rabbitHost)
-        .setRelayPort(61613)
-        .setVirtualHost(rabbitVhost) // ⭐⭐⭐
-        .setClientLogin(rabbitUser)
-        .setClientPasscode(rabbitPass)
-        .setSystemLogin(rabbitUser)
-        .setSystemPasscode(rabbitPass);
+        if ("simple".equalsIgnoreCase(brokerMode) || "inproc".equalsIgnoreCase(brokerMode)) {
+            config.enableSimpleBroker("/exchange", "/queue");
+        } else {
+            config.enableStompBrokerRelay("/exchange", "/queue")
+                    .setRelayHost(rabbitHost)
+                    .setRelayPort(61613)
+                    .setVirtualHost(rabbitVhost) // ⭐⭐⭐
+                    .setClientLogin(rabbitUser)
+                    .setClientPasscode(rabbitPass)
+                    .setSystemLogin(rabbitUser)
+                    .setSystemPasscode(rabbitPass);
+        }
+
+        // Time to hand each server message to the broker (in-JVM fan-out or relay TCP write)
+        Timer brokerPublish = Timer.builder("quiz.broker.publish")
+                .description("Time to hand a message to the broker")
+                .register(meterRegistry);
+        config.configureBrokerChannel().interceptors(new org.springframework.messaging.support.ChannelInterceptor() {
+            private final ThreadLocal<Long> sendStart = new ThreadLocal<>();
 
+            @Override
+            public org.springframework.messaging.Message<?> preSend(org.springframework.messaging.Message<?> message,
+                    org.springframework.messaging.MessageChannel channel) {
+                sendStart.set(System.nanoTime());
+                return message;
+            }
+
+            @Override
+            public void afterSendCompletion(org.springframework.messaging.Message<?> message,
+                    org.springframework.messaging.MessageChannel channel, boolean sent, Exception ex) {
+                Long start = sendStart.get();
+                if (start != null) {
+                    sendStart.remove();
+                    brokerPublish.record(System.nanoTime() - start, java.util.concurrent.TimeUnit.NANOSECONDS);
+                }
+            }
+        });
 
         // Prefix for messages from clients to server
         config.setApplicationDestinationPrefixes("/app");
@@ -60,6 +116,8 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     @Override
     public void configureClientInboundChannel(
             org.springframework.messaging.simp.config.ChannelRegistration registration) {
+        registration.taskExecutor(new SessionShardedExecutor(
+                inboundShards, inboundQueueCapacity, inboundOfferTimeoutMs));
         registration.interceptors(new org.springframework.messaging.support.ChannelInterceptor() {
             @Override
             public org.springframework.messaging.Message<?> preSend(org.springframework.messaging.Message<?> message,
@@ -72,14 +130,13 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                     String destination = accessor.getDestination();
 
                     if (command != null) {
-                        System.out.println("WebSocket INBOUND: command=" + command + ", destination=" + destination);
+                        meterRegistry.counter("quiz.inbound.frames", "command", command.name()).increment();
+                        log.debug("WebSocket INBOUND: command={}, destination={}", command, destination);
                         if (command == org.springframework.messaging.simp.stomp.StompCommand.SEND) {
-                            Object payload = message.getPayload();
-                            if (payload instanceof byte[]) {
-                                System.out.println("Payload: " + new String((byte[]) payload));
-                            } else {
-                                System.out.println("Payload: " + payload);
-                            }
+                            // Stamp before the frame waits in the inbound executor queue
+                            return org.springframework.messaging.support.MessageBuilder.fromMessage(message)
+                                    .setHeader(RECEIVED_AT_HEADER, System.nanoTime())
+                                    .build();
                         }
                     }
                 }
@@ -1,12 +1,21 @@
 package com.quiz.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.quiz.dto.*;
+import com.quiz.service.ExportService;
+import com.quiz.service.QuizImportService;
 import com.quiz.service.QuizService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -14,18 +23,93 @@ import java.util.List;
 @RequiredArgsConstructor
 public class QuizController {
 
+    private static final int MAX_SUMMARY_PAGE = 200;
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     private final QuizService quizService;
+    private final QuizImportService quizImportService;
+    private final ExportService exportService;
+    private final ObjectMapper objectMapper;
 
+    /**
+     * Full question trees of every quiz; prefer /summary for listings
+     */
     @GetMapping
     public ResponseEntity<List<QuizDTO>> getAllQuizzes() {
         return ResponseEntity.ok(quizService.getAllQuizzes());
     }
 
+    /**
+     * Paged catalog listing: {"items":[...],"nextBefore":id}.
+     * Request the next page with ?before={nextBefore}; null means last page.
+     */
+    @GetMapping("/summary")
+    public ResponseEntity<StreamingResponseBody> getQuizSummaries(
+            @RequestParam(required = false) Long before,
+            @RequestParam(defaultValue = "50") int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_SUMMARY_PAGE));
+        List<QuizSummaryDTO> page = quizService.getQuizSummaries(before, pageSize);
+        Long nextBefore = page.size() == pageSize ? page.get(page.size() - 1).getId() : null;
+
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+                json.writeStartObject();
+                json.writeArrayFieldStart("items");
+                for (QuizSummaryDTO summary : page) {
+                    objectMapper.writeValue(json, summary);
+                }
+                json.writeEndArray();
+                json.writeObjectField("nextBefore", nextBefore);
+                json.writeEndObject();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<QuizDTO> getQuiz(@PathVariable Long id) {
         return ResponseEntity.ok(quizService.getQuizById(id));
     }
 
+    /**
+     * Questions and answers of one quiz, streamed as JSON Lines or CSV (?format=csv).
+     * The CSV can be fed back to /import.
+     */
+    @GetMapping("/{id}/export")
+    public ResponseEntity<StreamingResponseBody> exportQuiz(@PathVariable Long id,
+            @RequestParam(defaultValue = "jsonl") String format) {
+        exportService.requireQuiz(id);
+        boolean csv = "csv".equalsIgnoreCase(format);
+        return ResponseEntity.ok()
+                .contentType(csv ? TEXT_CSV : APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("quiz-" + id + "." + (csv ? "csv" : "jsonl")).build().toString())
+                .body(out -> exportService.writeQuiz(id, csv, out));
+    }
+
+    /**
+     * Bulk import from the raw request body (?format=json|csv), parsed as it streams in.
+     * Progress of running imports is available from /imports.
+     */
+    @PostMapping("/import")
+    public ResponseEntity<ImportProgressDTO> importQuiz(HttpServletRequest request,
+            @RequestParam(defaultValue = "json") String format,
+            @RequestParam(required = false) String title) throws IOException {
+        return ResponseEntity.ok(quizImportService.importQuiz(request.getInputStream(), format, title,
+                request.getContentLengthLong()));
+    }
+
+    @GetMapping("/imports")
+    public ResponseEntity<List<ImportProgressDTO>> getImports() {
+        return ResponseEntity.ok(quizImportService.getImports());
+    }
+
+    @GetMapping("/imports/{importId}")
+    public ResponseEntity<ImportProgressDTO> getImport(@PathVariable Long importId) {
+        return ResponseEntity.ok(quizImportService.getImport(importId));
+    }
+
     @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<QuizDTO> createQuiz(@RequestBody QuizDTO quizDTO) {
         return ResponseEntity.ok(quizService.createQuiz(quizDTO));
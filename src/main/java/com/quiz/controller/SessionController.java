@@ -1,15 +1,19 @@
 package com.quiz.controller;
 
 import com.quiz.dto.*;
+import com.quiz.service.AutopilotService;
+import com.quiz.service.ExportService;
+import com.quiz.service.SessionEventPublisher;
 import com.quiz.service.SessionService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 @RestController
 @RequestMapping("/api/sessions")
@@ -17,9 +21,12 @@ import java.util.Map;
 public class SessionController {
 
     private final SessionService sessionService;
-    private final SimpMessagingTemplate messagingTemplate;
-    
-    private static final String SESSION_EXCHANGE = "/exchange/amq.topic/session.";
+    private final SessionEventPublisher eventPublisher;
+    private final AutopilotService autopilotService;
+    private final ExportService exportService;
+
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
 
     @PostMapping("/create/{quizId}")
     public ResponseEntity<SessionDTO> createSession(@PathVariable Long quizId) {
@@ -43,21 +50,8 @@ public class SessionController {
 
     @PostMapping("/join")
     public ResponseEntity<ParticipantDTO> joinSession(@RequestBody JoinSessionRequest request) {
-        ParticipantDTO participant = sessionService.joinSession(request);
-
-        // Broadcast to session that a new participant joined
-        SessionDTO session = sessionService.getSessionByCode(request.getSessionCode());
-        Map<String, Object> message = new HashMap<>();
-        message.put("type", "PARTICIPANT_JOINED");
-        message.put("participant", participant);
-        message.put("participantCount", session.getParticipantCount());
-        //messagingTemplate.convertAndSend("/topic/session/" + request.getSessionCode().toUpperCase(), message);
-        messagingTemplate.convertAndSend(
-                SESSION_EXCHANGE + request.getSessionCode().toUpperCase(),
-                message
-        );
-
-        return ResponseEntity.ok(participant);
+        // The lobby learns about the participant from the next LOBBY_UPDATE
+        return ResponseEntity.ok(sessionService.joinSession(request));
     }
 
     @PostMapping("/{id}/start")
@@ -65,68 +59,86 @@ public class SessionController {
         SessionDTO session = sessionService.startSession(id);
 
         // Broadcast session started
-        Map<String, Object> message = new HashMap<>();
-        message.put("type", "SESSION_STARTED");
-        message.put("status", session.getStatus());
-        //messagingTemplate.convertAndSend("/topic/session/" + session.getCode(), message);
-        messagingTemplate.convertAndSend(SESSION_EXCHANGE  + session.getCode(), message);
+        eventPublisher.sessionStarted(session);
 
         return ResponseEntity.ok(session);
     }
 
     @PostMapping("/{id}/question/{index}")
     public ResponseEntity<QuestionDTO> showQuestion(@PathVariable Long id, @PathVariable int index) {
+        // Manual control takes over from the autopilot
+        autopilotService.stop(id);
         QuestionDTO question = sessionService.showQuestion(id, index);
-        SessionDTO session = sessionService.getSessionById(id);
 
         // Broadcast question to all participants
-        Map<String, Object> message = new HashMap<>();
-        message.put("type", "NEW_QUESTION");
-        message.put("question", question);
-        message.put("questionIndex", index);
-        message.put("totalQuestions", session.getTotalQuestions());
-        //messagingTemplate.convertAndSend("/topic/session/" + session.getCode(), message);
-        messagingTemplate.convertAndSend(SESSION_EXCHANGE + session.getCode(), message);
+        eventPublisher.questionShown(id, index);
 
         return ResponseEntity.ok(question);
     }
 
     @PostMapping("/{id}/end-question")
     public ResponseEntity<SessionDTO> endQuestion(@PathVariable Long id) {
+        autopilotService.stop(id);
         SessionDTO session = sessionService.endQuestion(id);
 
         // Broadcast question ended
-        Map<String, Object> message = new HashMap<>();
-        message.put("type", "QUESTION_ENDED");
-        message.put("status", session.getStatus());
-        //messagingTemplate.convertAndSend("/topic/session/" + session.getCode(), message);
-        messagingTemplate.convertAndSend(SESSION_EXCHANGE + session.getCode(), message);
+        eventPublisher.questionEnded(session);
 
         return ResponseEntity.ok(session);
     }
 
     @PostMapping("/{id}/finish")
     public ResponseEntity<SessionDTO> finishSession(@PathVariable Long id) {
+        autopilotService.stop(id);
         SessionDTO session = sessionService.finishSession(id);
         ScoreboardDTO scoreboard = sessionService.getScoreboard(id);
 
         // Broadcast session ended with final scoreboard
-        Map<String, Object> message = new HashMap<>();
-        message.put("type", "SESSION_ENDED");
-        message.put("scoreboard", scoreboard);
-        //messagingTemplate.convertAndSend("/topic/session/" + session.getCode(), message);
-        messagingTemplate.convertAndSend(SESSION_EXCHANGE + session.getCode(), message);
+        eventPublisher.sessionEnded(session, scoreboard);
 
         return ResponseEntity.ok(session);
     }
 
+    /**
+     * Run the rest of the session automatically: each question closes when its
+     * time limit expires, then the next one is shown after a pause
+     */
+    @PostMapping("/{id}/autopilot")
+    public ResponseEntity<SessionDTO> startAutopilot(@PathVariable Long id,
+            @RequestParam(required = false) Integer pauseSeconds) {
+        return ResponseEntity.ok(autopilotService.start(id, pauseSeconds));
+    }
+
+    @DeleteMapping("/{id}/autopilot")
+    public ResponseEntity<Void> stopAutopilot(@PathVariable Long id) {
+        autopilotService.stop(id);
+        return ResponseEntity.noContent().build();
+    }
+
     @GetMapping("/{id}/participants")
     public ResponseEntity<List<ParticipantDTO>> getParticipants(@PathVariable Long id) {
         return ResponseEntity.ok(sessionService.getParticipants(id));
     }
 
     @GetMapping("/{id}/scoreboard")
-    public ResponseEntity<ScoreboardDTO> getScoreboard(@PathVariable Long id) {
-        return ResponseEntity.ok(sessionService.getScoreboard(id));
+    public ResponseEntity<ScoreboardDTO> getScoreboard(@PathVariable Long id,
+            @RequestParam(required = false) Integer top) {
+        // No upper bound needed: a larger top than the session returns everyone, as does no top
+        return ResponseEntity.ok(sessionService.getScoreboard(id, top != null ? Math.max(1, top) : null));
+    }
+
+    /**
+     * Every response of a finished session, streamed as JSON Lines or CSV (?format=csv)
+     */
+    @GetMapping("/{id}/results/export")
+    public ResponseEntity<StreamingResponseBody> exportResults(@PathVariable Long id,
+            @RequestParam(defaultValue = "jsonl") String format) {
+        String code = exportService.requireFinishedSession(id);
+        boolean csv = "csv".equalsIgnoreCase(format);
+        return ResponseEntity.ok()
+                .contentType(csv ? TEXT_CSV : APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("session-" + code + "-results." + (csv ? "csv" : "jsonl")).build().toString())
+                .body(out -> exportService.writeSessionResults(id, csv, out));
     }
 }
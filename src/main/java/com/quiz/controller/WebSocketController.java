@@ -1,17 +1,24 @@
 package com.quiz.controller;
 
+import com.quiz.config.WebSocketConfig;
 import com.quiz.dto.*;
+import com.quiz.live.LiveParticipant;
+import com.quiz.live.LiveQuestion;
+import com.quiz.live.LiveSession;
+import com.quiz.live.QuestionWindow;
+import com.quiz.live.ScoredResponse;
 import com.quiz.model.*;
-import com.quiz.repository.*;
 import com.quiz.service.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.messaging.handler.annotation.*;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Controller;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 @Controller
 @RequiredArgsConstructor
@@ -21,10 +28,12 @@ public class WebSocketController {
     private final SimpMessagingTemplate messagingTemplate;
     private final SessionService sessionService;
     private final ScoringService scoringService;
-    private final ParticipantRepository participantRepository;
-    private final QuestionRepository questionRepository;
-    private final AnswerRepository answerRepository;
-    private final ResponseRepository responseRepository;
+    private final LiveSessionRegistry liveSessionRegistry;
+    private final QuizMetrics metrics;
+
+    // Allowance for network latency after a question's time limit
+    @Value("${app.answers.grace-ms:500}")
+    private long answerGraceMs;
 
     // ✅ IMPORTANT : Utiliser l'exchange pour toutes les destinations
     private static final String SESSION_EXCHANGE = "/exchange/amq.topic/session.";
@@ -34,64 +43,91 @@ public class WebSocketController {
      */
     @MessageMapping("/session/{sessionCode}/answer")
     public void submitAnswer(@DestinationVariable String sessionCode,
-            @Payload SubmitAnswerRequest request) {
+            @Payload SubmitAnswerRequest request,
+            @Header(name = WebSocketConfig.RECEIVED_AT_HEADER, required = false) Long receivedAtNanos) {
+        long receivedAt = receivedAtNanos != null ? receivedAtNanos : System.nanoTime();
+
         log.info("Received answer from participant {} for question {} with answer {}",
                 request.getParticipantId(), request.getQuestionId(), request.getAnswerId());
 
+        long stageStart = System.nanoTime();
         try {
-            Participant participant = participantRepository.findById(request.getParticipantId())
-                    .orElseThrow(() -> new RuntimeException("Participant not found"));
+            LiveSession session = liveSessionRegistry.get(sessionCode);
+
+            LiveParticipant participant = session.getParticipant(request.getParticipantId());
+            if (participant == null) {
+                throw new RuntimeException("Participant not found");
+            }
 
-            Question question = questionRepository.findById(request.getQuestionId())
-                    .orElseThrow(() -> new RuntimeException("Question not found"));
+            LiveQuestion question = session.getQuestion(request.getQuestionId());
+            if (question == null) {
+                throw new RuntimeException("Question not found");
+            }
 
-            Answer answer = answerRepository.findById(request.getAnswerId())
-                    .orElseThrow(() -> new RuntimeException("Answer not found"));
+            Answer answer = question.getAnswer(request.getAnswerId());
+            if (answer == null) {
+                throw new RuntimeException("Answer not found");
+            }
 
             log.info("Answer isCorrect: {}", answer.getIsCorrect());
 
+            QuestionWindow window = session.getQuestionWindow();
+            if (window == null || window.getQuestion() != question) {
+                metrics.answer(QuizMetrics.AnswerOutcome.REJECTED);
+                sendErrorToParticipant(sessionCode, participant.getId(), "This question is not active");
+                return;
+            }
+
+            if (!window.accepts(receivedAt, TimeUnit.MILLISECONDS.toNanos(answerGraceMs))) {
+                metrics.answer(QuizMetrics.AnswerOutcome.REJECTED);
+                sendErrorToParticipant(sessionCode, participant.getId(), "Time is up for this question");
+                return;
+            }
+
+            // Response time is measured server-side; the client's responseTimeMs is ignored
+            long responseTimeMs = window.elapsedMillis(receivedAt);
+
             // Check if already answered
-            if (responseRepository.existsByParticipantIdAndQuestionId(
-                    participant.getId(), question.getId())) {
+            if (!question.markAnswered(participant)) {
                 log.warn("Participant {} already answered question {}", participant.getId(), question.getId());
+                metrics.answer(QuizMetrics.AnswerOutcome.REJECTED);
                 sendErrorToParticipant(sessionCode, participant.getId(), "Already answered this question");
                 return;
             }
 
-            // Record and score the response
-            ParticipantResponse response = scoringService.recordResponse(
-                    participant, question, answer, request.getResponseTimeMs());
+            metrics.answerStage(QuizMetrics.AnswerStage.LOOKUP, stageStart);
 
-            // Re-fetch participant to get updated score
-            Participant updatedParticipant = participantRepository.findById(request.getParticipantId())
-                    .orElse(participant);
+            // Record and score the response (scoring, admin count and persist stages)
+            ScoredResponse response;
+            try {
+                response = scoringService.recordResponse(
+                        session, participant, question, answer, responseTimeMs);
+            } catch (RuntimeException e) {
+                question.unmarkAnswered(participant);
+                throw e;
+            }
 
             log.info("Response recorded: isCorrect={}, pointsEarned={}, totalScore={}",
-                    response.getIsCorrect(), response.getPointsEarned(), updatedParticipant.getTotalScore());
+                    response.isCorrect(), response.getPointsEarned(), response.getTotalScore());
 
             // ✅ CORRECTION: Send feedback using exchange routing key
             Map<String, Object> feedback = new HashMap<>();
             feedback.put("type", "ANSWER_RESULT");
             feedback.put("questionId", question.getId());
-            feedback.put("isCorrect", response.getIsCorrect());
+            feedback.put("isCorrect", response.isCorrect());
             feedback.put("pointsEarned", response.getPointsEarned());
-            feedback.put("totalScore", updatedParticipant.getTotalScore());
+            feedback.put("totalScore", response.getTotalScore());
 
             String destination = SESSION_EXCHANGE + sessionCode + ".participant." + participant.getId();
             log.info("Sending feedback to: {}", destination);
+            stageStart = System.nanoTime();
             messagingTemplate.convertAndSend(destination, feedback);
+            metrics.answerStage(QuizMetrics.AnswerStage.FEEDBACK, stageStart);
+            metrics.answer(QuizMetrics.AnswerOutcome.ACCEPTED);
 
-            // Notify admin of response count update
-            long responseCount = responseRepository.findByQuestionId(question.getId()).size();
-            Map<String, Object> adminUpdate = new HashMap<>();
-            adminUpdate.put("type", "RESPONSE_COUNT");
-            adminUpdate.put("questionId", question.getId());
-            adminUpdate.put("count", responseCount);
-
-            // ✅ CORRECTION: Send to admin using exchange
-            messagingTemplate.convertAndSend(SESSION_EXCHANGE + sessionCode + ".admin", adminUpdate);
-
+            // RESPONSE_COUNT for the admin is coalesced by AdminStatsPublisher
         } catch (Exception e) {
+            metrics.answer(QuizMetrics.AnswerOutcome.FAILED);
             log.error("Error processing answer: {}", e.getMessage(), e);
         }
     }
@@ -0,0 +1,21 @@
+package com.quiz.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportProgressDTO {
+    private Long id;
+    private String format;
+    private String status; // RUNNING, COMPLETED, FAILED
+    private Long quizId;
+    private Integer questionsImported;
+    private Integer answersImported;
+    private Long bytesRead;
+    private Long totalBytes; // -1 if the upload has no Content-Length
+    private Long elapsedMs;
+    private String error;
+}
@@ -0,0 +1,17 @@
+package com.quiz.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class QuizSummaryDTO {
+    private Long id;
+    private String title;
+    private Integer questionCount;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
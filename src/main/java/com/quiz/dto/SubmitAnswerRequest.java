@@ -11,5 +11,5 @@ public class SubmitAnswerRequest {
     private Long participantId;
     private Long questionId;
     private Long answerId;
-    private Long responseTimeMs;
+    private Long responseTimeMs; // ignored, response time is measured server-side
 }
@@ -0,0 +1,71 @@
+package com.quiz.live;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Lock-free set of participant ordinals that answered one question. Bits live in
+ * fixed-size pages allocated on first use, so late joiners extend the set without
+ * copying; marking is a single compare-and-set on one word.
+ */
+public class AnsweredBitset {
+
+    private static final int WORDS_PER_PAGE = 64; // 4096 participants per page
+    private static final int BITS_PER_PAGE = WORDS_PER_PAGE * Long.SIZE;
+    private static final int MAX_PAGES = 1024;
+
+    private final AtomicReferenceArray<AtomicLongArray> pages = new AtomicReferenceArray<>(MAX_PAGES);
+
+    /**
+     * Set the participant's bit; false if it was already set
+     */
+    public boolean mark(int ordinal) {
+        AtomicLongArray page = page(ordinal);
+        int word = (ordinal % BITS_PER_PAGE) >>> 6;
+        long bit = 1L << ordinal;
+        long current;
+        do {
+            current = page.get(word);
+            if ((current & bit) != 0) {
+                return false;
+            }
+        } while (!page.compareAndSet(word, current, current | bit));
+        return true;
+    }
+
+    /**
+     * Clear the participant's bit after an answer could not be recorded
+     */
+    public void clear(int ordinal) {
+        AtomicLongArray page = page(ordinal);
+        int word = (ordinal % BITS_PER_PAGE) >>> 6;
+        long bit = 1L << ordinal;
+        long current;
+        do {
+            current = page.get(word);
+        } while ((current & bit) != 0 && !page.compareAndSet(word, current, current & ~bit));
+    }
+
+    public boolean isMarked(int ordinal) {
+        AtomicLongArray page = pages.get(pageIndex(ordinal));
+        return page != null && (page.get((ordinal % BITS_PER_PAGE) >>> 6) & (1L << ordinal)) != 0;
+    }
+
+    private AtomicLongArray page(int ordinal) {
+        int index = pageIndex(ordinal);
+        AtomicLongArray page = pages.get(index);
+        if (page == null) {
+            pages.compareAndSet(index, null, new AtomicLongArray(WORDS_PER_PAGE));
+            page = pages.get(index);
+        }
+        return page;
+    }
+
+    private static int pageIndex(int ordinal) {
+        int index = ordinal / BITS_PER_PAGE;
+        if (ordinal < 0 || index >= MAX_PAGES) {
+            throw new IllegalArgumentException("Participant ordinal out of range: " + ordinal);
+        }
+        return index;
+    }
+}
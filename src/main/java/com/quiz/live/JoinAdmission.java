@@ -0,0 +1,155 @@
+package com.quiz.live;
+
+import com.quiz.dto.ParticipantDTO;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Registration state of one session kept in memory so joins are admitted
+ * without reading the database. Name reservation and the capacity check are
+ * atomic, so two concurrent joins can never both take the last seat or the same name.
+ */
+public class JoinAdmission {
+
+    private final Long sessionId;
+    private final String code;
+    private final Integer maxParticipants;
+    private final AtomicInteger participantCount;
+    private final Set<String> names = ConcurrentHashMap.newKeySet();
+    private final Queue<ParticipantDTO> unpublishedJoins = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger unsettledJoins = new AtomicInteger();
+    private volatile boolean open;
+
+    public JoinAdmission(Long sessionId, String code, Integer maxParticipants, boolean open,
+            Iterable<Object[]> existingNames) {
+        this.sessionId = sessionId;
+        this.code = code;
+        this.maxParticipants = maxParticipants;
+        this.open = open;
+        int count = 0;
+        for (Object[] name : existingNames) {
+            names.add(key((String) name[0], (String) name[1]));
+            count++;
+        }
+        this.participantCount = new AtomicInteger(count);
+    }
+
+    public Long getSessionId() {
+        return sessionId;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public int getParticipantCount() {
+        return participantCount.get();
+    }
+
+    public boolean isOpen() {
+        return open;
+    }
+
+    /**
+     * Reserve a seat and the name, or throw with the reason the join is refused.
+     * An admitted join must be followed by {@link #settled()} once it is persisted or failed.
+     */
+    public void admit(String firstName, String lastName) {
+        // Counted before the open check, so close() either refuses this join or waits for it
+        unsettledJoins.incrementAndGet();
+        boolean admitted = false;
+        try {
+            if (!open) {
+                throw new RuntimeException("Registration is closed for this session");
+            }
+            String key = key(firstName, lastName);
+            if (!names.add(key)) {
+                throw new RuntimeException("A participant with this name already exists");
+            }
+            int count = participantCount.incrementAndGet();
+            if (maxParticipants != null && count > maxParticipants) {
+                participantCount.decrementAndGet();
+                names.remove(key);
+                throw new RuntimeException("Session is full");
+            }
+            admitted = true;
+        } finally {
+            if (!admitted) {
+                unsettledJoins.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * The insert of an admitted join has committed or failed
+     */
+    public void settled() {
+        unsettledJoins.decrementAndGet();
+    }
+
+    /**
+     * Give back a seat whose participant could not be persisted
+     */
+    public void release(String firstName, String lastName) {
+        if (names.remove(key(firstName, lastName))) {
+            participantCount.decrementAndGet();
+        }
+    }
+
+    /**
+     * Queue a persisted participant for the next lobby update
+     */
+    public void joined(ParticipantDTO participant) {
+        unpublishedJoins.add(participant);
+    }
+
+    /**
+     * Participants joined since the last call, in join order
+     */
+    public List<ParticipantDTO> drainJoined() {
+        List<ParticipantDTO> joined = new ArrayList<>();
+        ParticipantDTO participant;
+        while ((participant = unpublishedJoins.poll()) != null) {
+            joined.add(participant);
+        }
+        return joined;
+    }
+
+    /**
+     * Refuse further joins; the name set is no longer needed
+     */
+    public void close() {
+        open = false;
+        names.clear();
+    }
+
+    /**
+     * Wait until every join admitted before {@link #close()} is settled, so a read
+     * of the participants that starts afterwards sees all of them
+     *
+     * @return false if joins were still in flight at the timeout
+     */
+    public boolean awaitSettled(long timeoutMs) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        while (unsettledJoins.get() > 0) {
+            if (System.nanoTime() >= deadline) {
+                return false;
+            }
+            Thread.sleep(5);
+        }
+        return true;
+    }
+
+    private static String key(String firstName, String lastName) {
+        // Same rule as the MySQL default collation: trimmed, case-insensitive
+        return firstName.trim().toLowerCase(Locale.ROOT) + '\u0000' + lastName.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,238 @@
+package com.quiz.live;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Order-statistic index of a session's participants, ordered by total score desc,
+ * then total response time asc (tiebreaker), then participant id.
+ * Backed by a size-augmented treap: updates and rank lookups are O(log n),
+ * top-N is O(log n + N).
+ */
+public class Leaderboard {
+
+    public static class Entry {
+        private final Long participantId;
+        private final int score;
+        private final long responseTime;
+
+        Entry(Long participantId, int score, long responseTime) {
+            this.participantId = participantId;
+            this.score = score;
+            this.responseTime = responseTime;
+        }
+
+        public Long getParticipantId() {
+            return participantId;
+        }
+
+        public int getScore() {
+            return score;
+        }
+
+        public long getResponseTime() {
+            return responseTime;
+        }
+    }
+
+    private static final class Node {
+        final Entry entry;
+        final int priority;
+        Node left;
+        Node right;
+        int size = 1;
+
+        Node(Entry entry) {
+            this.entry = entry;
+            this.priority = ThreadLocalRandom.current().nextInt();
+        }
+    }
+
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private Node root;
+    private long version;
+
+    /**
+     * Insert a participant or move them to their new position
+     */
+    public synchronized void update(Long participantId, int score, long responseTime) {
+        Entry previous = entries.get(participantId);
+        if (previous != null) {
+            if (previous.score == score && previous.responseTime == responseTime) {
+                return;
+            }
+            root = remove(root, previous);
+            version++;
+        }
+        Entry entry = new Entry(participantId, score, responseTime);
+        entries.put(participantId, entry);
+        root = insert(root, new Node(entry));
+    }
+
+    public synchronized void remove(Long participantId) {
+        Entry previous = entries.remove(participantId);
+        if (previous != null) {
+            root = remove(root, previous);
+            version++;
+        }
+    }
+
+    /**
+     * 1-based rank of a participant, or 0 if unknown
+     */
+    public synchronized int rank(Long participantId) {
+        Entry entry = entries.get(participantId);
+        if (entry == null) {
+            return 0;
+        }
+        int rank = 1;
+        Node node = root;
+        while (node != null) {
+            int cmp = compare(entry, node.entry);
+            if (cmp < 0) {
+                node = node.left;
+            } else {
+                rank += size(node.left);
+                if (cmp == 0) {
+                    return rank;
+                }
+                rank++;
+                node = node.right;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Best {@code limit} entries in rank order
+     */
+    public synchronized List<Entry> top(int limit) {
+        List<Entry> result = new ArrayList<>(Math.min(limit, size(root)));
+        collect(root, result, limit);
+        return result;
+    }
+
+    /**
+     * All entries in rank order
+     */
+    public synchronized List<Entry> snapshot() {
+        return top(size(root));
+    }
+
+    public synchronized int size() {
+        return size(root);
+    }
+
+    /**
+     * Incremented whenever a participant's score or time changes or one leaves
+     * (new participants joining at zero do not count)
+     */
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    private static void collect(Node node, List<Entry> out, int limit) {
+        if (node == null || out.size() >= limit) {
+            return;
+        }
+        collect(node.left, out, limit);
+        if (out.size() < limit) {
+            out.add(node.entry);
+            collect(node.right, out, limit);
+        }
+    }
+
+    private static int compare(Entry a, Entry b) {
+        if (a.score != b.score) {
+            return Integer.compare(b.score, a.score);
+        }
+        if (a.responseTime != b.responseTime) {
+            return Long.compare(a.responseTime, b.responseTime);
+        }
+        return a.participantId.compareTo(b.participantId);
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static void resize(Node node) {
+        node.size = 1 + size(node.left) + size(node.right);
+    }
+
+    private static Node insert(Node node, Node added) {
+        if (node == null) {
+            return added;
+        }
+        if (added.priority > node.priority) {
+            Node[] parts = split(node, added.entry);
+            added.left = parts[0];
+            added.right = parts[1];
+            resize(added);
+            return added;
+        }
+        if (compare(added.entry, node.entry) < 0) {
+            node.left = insert(node.left, added);
+        } else {
+            node.right = insert(node.right, added);
+        }
+        resize(node);
+        return node;
+    }
+
+    private static Node remove(Node node, Entry entry) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(entry, node.entry);
+        if (cmp == 0) {
+            return merge(node.left, node.right);
+        }
+        if (cmp < 0) {
+            node.left = remove(node.left, entry);
+        } else {
+            node.right = remove(node.right, entry);
+        }
+        resize(node);
+        return node;
+    }
+
+    /**
+     * Split into entries ordered before {@code key} and the rest
+     */
+    private static Node[] split(Node node, Entry key) {
+        if (node == null) {
+            return new Node[] { null, null };
+        }
+        if (compare(node.entry, key) < 0) {
+            Node[] parts = split(node.right, key);
+            node.right = parts[0];
+            resize(node);
+            return new Node[] { node, parts[1] };
+        }
+        Node[] parts = split(node.left, key);
+        node.left = parts[1];
+        resize(node);
+        return new Node[] { parts[0], node };
+    }
+
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            resize(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        resize(right);
+        return right;
+    }
+}
@@ -0,0 +1,86 @@
+package com.quiz.live;
+
+import com.quiz.model.Participant;
+
+/**
+ * In-memory score state of a participant in a live session.
+ */
+public class LiveParticipant {
+
+    private final Long id;
+    private final String firstName;
+    private final String lastName;
+    private final Boolean isConnected;
+    private int ordinal = -1;
+
+    private int totalScore;
+    private long totalResponseTime;
+
+    // Last rank and score pushed to this participant, only touched by the scoreboard tick
+    private int publishedRank;
+    private int publishedScore;
+
+    public LiveParticipant(Participant participant) {
+        this.id = participant.getId();
+        this.firstName = participant.getFirstName();
+        this.lastName = participant.getLastName();
+        this.isConnected = participant.getIsConnected();
+        this.totalScore = participant.getTotalScore() != null ? participant.getTotalScore() : 0;
+        this.totalResponseTime = participant.getTotalResponseTime() != null ? participant.getTotalResponseTime() : 0L;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public Boolean getIsConnected() {
+        return isConnected;
+    }
+
+    /**
+     * Dense index of the participant within its live session, assigned on join
+     */
+    public int getOrdinal() {
+        return ordinal;
+    }
+
+    void assignOrdinal(int ordinal) {
+        this.ordinal = ordinal;
+    }
+
+    public synchronized void addScore(int points, boolean correct, long responseTimeMs) {
+        totalScore += points;
+        if (correct) {
+            totalResponseTime += responseTimeMs;
+        }
+    }
+
+    public synchronized int getTotalScore() {
+        return totalScore;
+    }
+
+    public synchronized long getTotalResponseTime() {
+        return totalResponseTime;
+    }
+
+    /**
+     * Record the rank and score last pushed to this participant.
+     * Returns false if they were already sent.
+     */
+    public boolean markRankPublished(int rank, int score) {
+        if (publishedRank == rank && publishedScore == score) {
+            return false;
+        }
+        publishedRank = rank;
+        publishedScore = score;
+        return true;
+    }
+}
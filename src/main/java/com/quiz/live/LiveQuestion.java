@@ -0,0 +1,129 @@
+package com.quiz.live;
+
+import com.quiz.dto.QuestionDTO;
+import com.quiz.model.Answer;
+import com.quiz.model.Question;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory view of a question while its session is live.
+ * The wrapped entity is detached and must be treated as read-only.
+ */
+public class LiveQuestion {
+
+    private final Question question;
+    private final int index;
+    private final Map<Long, Answer> answers;
+    private final AtomicInteger responseCount = new AtomicInteger();
+    private final AnsweredBitset answered = new AnsweredBitset();
+    private final Map<Long, LongAdder> answerCounts;
+    private volatile int publishedResponseCount;
+    private volatile QuestionDTO participantView;
+    private volatile byte[] newQuestionPayload;
+
+    public LiveQuestion(Question question, int index) {
+        this.question = question;
+        this.index = index;
+
+        Map<Long, Answer> byId = new LinkedHashMap<>();
+        Map<Long, LongAdder> counts = new LinkedHashMap<>();
+        for (Answer answer : question.getAnswers()) {
+            byId.put(answer.getId(), answer);
+            counts.put(answer.getId(), new LongAdder());
+        }
+        this.answers = Collections.unmodifiableMap(byId);
+        this.answerCounts = Collections.unmodifiableMap(counts);
+    }
+
+    public Long getId() {
+        return question.getId();
+    }
+
+    public Question getQuestion() {
+        return question;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public Answer getAnswer(Long answerId) {
+        return answers.get(answerId);
+    }
+
+    /**
+     * Question as shown to participants, without the correct answers
+     */
+    public QuestionDTO getParticipantView() {
+        return participantView;
+    }
+
+    /**
+     * Serialized NEW_QUESTION message; shared, must not be modified
+     */
+    public byte[] getNewQuestionPayload() {
+        return newQuestionPayload;
+    }
+
+    public void setParticipantPayload(QuestionDTO participantView, byte[] newQuestionPayload) {
+        this.participantView = participantView;
+        this.newQuestionPayload = newQuestionPayload;
+    }
+
+    /**
+     * Atomically claim the question for the participant, a single CAS.
+     * Returns false if the participant already answered it.
+     */
+    public boolean markAnswered(LiveParticipant participant) {
+        return answered.mark(participant.getOrdinal());
+    }
+
+    public void unmarkAnswered(LiveParticipant participant) {
+        answered.clear(participant.getOrdinal());
+    }
+
+    public int incrementResponseCount() {
+        return responseCount.incrementAndGet();
+    }
+
+    /**
+     * Count a scored answer in the live distribution. LongAdder stripes the
+     * counter, so a popular answer does not become a contended CAS target.
+     */
+    public void recordAnswer(Long answerId) {
+        LongAdder count = answerCounts.get(answerId);
+        if (count != null) {
+            count.increment();
+        }
+    }
+
+    /**
+     * Answers chosen so far, by answer id in display order
+     */
+    public Map<Long, Long> getAnswerDistribution() {
+        Map<Long, Long> distribution = new LinkedHashMap<>();
+        answerCounts.forEach((answerId, count) -> distribution.put(answerId, count.sum()));
+        return distribution;
+    }
+
+    public int getResponseCount() {
+        return responseCount.get();
+    }
+
+    /**
+     * Record the count last sent to the admin channel.
+     * Returns false if it was already sent.
+     */
+    public boolean markResponseCountPublished(int count) {
+        if (publishedResponseCount == count) {
+            return false;
+        }
+        publishedResponseCount = count;
+        return true;
+    }
+}
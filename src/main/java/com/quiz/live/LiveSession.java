@@ -0,0 +1,151 @@
+package com.quiz.live;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory state of a running session: questions in play order with their answers,
+ * and participants with their scores. Lives from startSession until finishSession.
+ */
+public class LiveSession {
+
+    private final Long id;
+    private final String code;
+    private final Long quizId;
+    private final boolean liveScoreboard;
+    private final List<LiveQuestion> questions;
+    private final Map<Long, LiveQuestion> questionsById;
+    private final Map<Long, LiveParticipant> participants = new ConcurrentHashMap<>();
+    private final Leaderboard leaderboard = new Leaderboard();
+    private final AtomicInteger nextOrdinal = new AtomicInteger();
+
+    private volatile QuestionWindow questionWindow;
+    private volatile int currentQuestionIndex = -1;
+    private volatile long publishedScoreboardVersion;
+
+    public LiveSession(Long id, String code, Long quizId, boolean liveScoreboard, List<LiveQuestion> questions) {
+        this.id = id;
+        this.code = code;
+        this.quizId = quizId;
+        this.liveScoreboard = liveScoreboard;
+        this.questions = Collections.unmodifiableList(questions);
+
+        Map<Long, LiveQuestion> byId = new HashMap<>();
+        for (LiveQuestion question : questions) {
+            byId.put(question.getId(), question);
+        }
+        this.questionsById = byId;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public Long getQuizId() {
+        return quizId;
+    }
+
+    /**
+     * Whether spectators get scoreboard updates while questions are running
+     */
+    public boolean isLiveScoreboard() {
+        return liveScoreboard;
+    }
+
+    /**
+     * Questions in play order (already shuffled if the quiz asks for it)
+     */
+    public List<LiveQuestion> getQuestions() {
+        return questions;
+    }
+
+    public LiveQuestion getQuestion(Long questionId) {
+        return questionsById.get(questionId);
+    }
+
+    public LiveQuestion getQuestionAt(int index) {
+        if (index < 0 || index >= questions.size()) {
+            throw new RuntimeException("Invalid question index");
+        }
+        return questions.get(index);
+    }
+
+    public LiveQuestion getActiveQuestion() {
+        QuestionWindow window = questionWindow;
+        return window != null ? window.getQuestion() : null;
+    }
+
+    public QuestionWindow getQuestionWindow() {
+        return questionWindow;
+    }
+
+    /**
+     * Start accepting answers for {@code question}, timed from {@code startNanos}
+     */
+    public QuestionWindow openQuestion(LiveQuestion question, long startNanos) {
+        QuestionWindow window = new QuestionWindow(question, startNanos);
+        this.currentQuestionIndex = question.getIndex();
+        this.questionWindow = window;
+        return window;
+    }
+
+    public void closeQuestion() {
+        this.questionWindow = null;
+    }
+
+    public int getCurrentQuestionIndex() {
+        return currentQuestionIndex;
+    }
+
+    public void setCurrentQuestionIndex(int currentQuestionIndex) {
+        this.currentQuestionIndex = currentQuestionIndex;
+    }
+
+    public Leaderboard getLeaderboard() {
+        return leaderboard;
+    }
+
+    /**
+     * Record the leaderboard version last broadcast.
+     * Returns false if that version was already sent.
+     */
+    public boolean markScoreboardPublished(long version) {
+        if (publishedScoreboardVersion == version) {
+            return false;
+        }
+        publishedScoreboardVersion = version;
+        return true;
+    }
+
+    public LiveParticipant getParticipant(Long participantId) {
+        return participants.get(participantId);
+    }
+
+    public Collection<LiveParticipant> getParticipants() {
+        return participants.values();
+    }
+
+    public void addParticipant(LiveParticipant participant) {
+        // The ordinal is taken only by the instance actually inserted, and is set
+        // before the participant becomes visible to answer handling
+        LiveParticipant added = participants.computeIfAbsent(participant.getId(), id -> {
+            participant.assignOrdinal(nextOrdinal.getAndIncrement());
+            return participant;
+        });
+        if (added != participant) {
+            return;
+        }
+        synchronized (participant) {
+            leaderboard.update(participant.getId(), participant.getTotalScore(), participant.getTotalResponseTime());
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.quiz.live;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Answer window of the active question, measured on the monotonic clock
+ * (System.nanoTime) so latencies are immune to wall-clock adjustments.
+ */
+public class QuestionWindow {
+
+    private final LiveQuestion question;
+    private final long startNanos;
+    private final long deadlineNanos;
+
+    public QuestionWindow(LiveQuestion question, long startNanos) {
+        this.question = question;
+        this.startNanos = startNanos;
+        this.deadlineNanos = startNanos
+                + TimeUnit.SECONDS.toNanos(question.getQuestion().getEffectiveTimeLimit());
+    }
+
+    public LiveQuestion getQuestion() {
+        return question;
+    }
+
+    public long getStartNanos() {
+        return startNanos;
+    }
+
+    public long getDeadlineNanos() {
+        return deadlineNanos;
+    }
+
+    /**
+     * Milliseconds between the question being shown and {@code nanos}
+     */
+    public long elapsedMillis(long nanos) {
+        return Math.max(0, TimeUnit.NANOSECONDS.toMillis(nanos - startNanos));
+    }
+
+    /**
+     * Whether an answer received at {@code nanos} is still in time,
+     * allowing {@code graceNanos} for network latency
+     */
+    public boolean accepts(long nanos, long graceNanos) {
+        return nanos - deadlineNanos <= graceNanos;
+    }
+}
@@ -0,0 +1,21 @@
+package com.quiz.live;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A scored answer waiting to be written to participant_responses, together with
+ * the participant's totals right after it was applied.
+ */
+@Getter
+@AllArgsConstructor
+public class ScoredResponse {
+    private final Long participantId;
+    private final Long questionId;
+    private final Long answerId;
+    private final long responseTimeMs;
+    private final int pointsEarned;
+    private final boolean correct;
+    private final int totalScore;
+    private final long totalResponseTime;
+}
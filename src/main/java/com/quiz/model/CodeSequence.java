@@ -0,0 +1,24 @@
+package com.quiz.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+/**
+ * Named counter handed out in blocks, e.g. positions in the session code permutation
+ */
+@Entity
+@Table(name = "code_sequences")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CodeSequence {
+
+    @Id
+    @Column(length = 50)
+    private String name;
+
+    @Column(name = "next_value", nullable = false)
+    private Long nextValue = 0L;
+}
@@ -10,7 +10,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "game_sessions")
+@Table(name = "game_sessions", indexes = @Index(name = "idx_game_sessions_status", columnList = "status"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
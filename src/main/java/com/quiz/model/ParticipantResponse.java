@@ -7,7 +7,9 @@ import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 
 @Entity
-@Table(name = "participant_responses")
+// Last line of defence behind the in-memory answered bitsets
+@Table(name = "participant_responses", uniqueConstraints = @UniqueConstraint(
+        name = "uk_participant_responses_participant_question", columnNames = { "participant_id", "question_id" }))
 @NoArgsConstructor
 @AllArgsConstructor
 public class ParticipantResponse {
@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -36,9 +37,28 @@ public class Quiz {
     @Column(name = "live_scoreboard")
     private Boolean liveScoreboard = false;
 
+    @Column(name = "created_at")
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt = LocalDateTime.now();
+
+    // Bumped on every change to the quiz or its questions; validates cached QuizDTOs
+    @Column(name = "version")
+    private Long version = 0L;
+
     @OneToMany(mappedBy = "quiz", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Question> questions = new ArrayList<>();
 
     @OneToMany(mappedBy = "quiz", cascade = CascadeType.ALL)
     private List<GameSession> sessions = new ArrayList<>();
+
+    public long getCurrentVersion() {
+        return version != null ? version : 0L;
+    }
+
+    public void bumpVersion() {
+        version = getCurrentVersion() + 1;
+        updatedAt = LocalDateTime.now();
+    }
 }
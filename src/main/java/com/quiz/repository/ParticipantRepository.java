@@ -16,5 +16,6 @@ public interface ParticipantRepository extends JpaRepository<Participant, Long>
 
     Optional<Participant> findBySocketId(String socketId);
 
-    boolean existsBySessionIdAndFirstNameAndLastName(Long sessionId, String firstName, String lastName);
+    @Query("SELECT p.firstName, p.lastName FROM Participant p WHERE p.session.id = :sessionId")
+    List<Object[]> findNamesBySessionId(Long sessionId);
 }
@@ -2,10 +2,18 @@ package com.quiz.repository;
 
 import com.quiz.model.Question;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface QuestionRepository extends JpaRepository<Question, Long> {
     List<Question> findByQuizIdOrderByQuestionOrderAsc(Long quizId);
+
+    @Query("SELECT DISTINCT q FROM Question q LEFT JOIN FETCH q.answers WHERE q.quiz.id = :quizId ORDER BY q.questionOrder ASC")
+    List<Question> findWithAnswersByQuizId(Long quizId);
+
+    @Query("SELECT q FROM Question q LEFT JOIN FETCH q.answers a WHERE q.quiz.id IN :quizIds ORDER BY q.quiz.id, q.questionOrder, a.id")
+    List<Question> findWithAnswersByQuizIdIn(Collection<Long> quizIds);
 }
@@ -1,9 +1,22 @@
 package com.quiz.repository;
 
+import com.quiz.dto.QuizSummaryDTO;
 import com.quiz.model.Quiz;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import java.util.List;
 
 @Repository
 public interface QuizRepository extends JpaRepository<Quiz, Long> {
+
+    // Newest first; keyset pagination on id so deep pages cost the same as the first
+    @Query("SELECT new com.quiz.dto.QuizSummaryDTO(q.id, q.title, SIZE(q.questions), q.createdAt, q.updatedAt) "
+            + "FROM Quiz q ORDER BY q.id DESC")
+    List<QuizSummaryDTO> findSummaries(Pageable page);
+
+    @Query("SELECT new com.quiz.dto.QuizSummaryDTO(q.id, q.title, SIZE(q.questions), q.createdAt, q.updatedAt) "
+            + "FROM Quiz q WHERE q.id < :before ORDER BY q.id DESC")
+    List<QuizSummaryDTO> findSummariesBefore(Long before, Pageable page);
 }
@@ -2,6 +2,7 @@ package com.quiz.repository;
 
 import com.quiz.model.ParticipantResponse;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 import java.util.Optional;
@@ -15,4 +16,8 @@ public interface ResponseRepository extends JpaRepository<ParticipantResponse, L
     boolean existsByParticipantIdAndQuestionId(Long participantId, Long questionId);
 
     List<ParticipantResponse> findByQuestionId(Long questionId);
+
+    @Query("SELECT r.participant.id, r.question.id, r.answer.id FROM ParticipantResponse r "
+            + "WHERE r.participant.session.id = :sessionId")
+    List<Object[]> findAnswersBySessionId(Long sessionId);
 }
@@ -1,8 +1,12 @@
 package com.quiz.repository;
 
+import com.quiz.dto.SessionDTO;
 import com.quiz.model.GameSession;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -10,4 +14,11 @@ public interface SessionRepository extends JpaRepository<GameSession, Long> {
     Optional<GameSession> findByCode(String code);
 
     boolean existsByCode(String code);
+
+    // Uses idx_game_sessions_status; counts are correlated subqueries in the same statement
+    @Query("SELECT new com.quiz.dto.SessionDTO(s.id, s.code, CAST(s.status AS String), s.currentQuestionIndex, "
+            + "s.openRegistration, s.maxParticipants, s.showImmediateFeedback, q.id, q.title, "
+            + "SIZE(q.questions), SIZE(s.participants)) "
+            + "FROM GameSession s JOIN s.quiz q WHERE s.status IN :statuses ORDER BY s.id")
+    List<SessionDTO> findSummariesByStatusIn(Collection<GameSession.SessionStatus> statuses);
 }
@@ -0,0 +1,63 @@
+package com.quiz.service;
+
+import com.quiz.live.LiveQuestion;
+import com.quiz.live.LiveSession;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Publishes live answer statistics (response count and per-answer distribution) to
+ * each session's admin channel on a fixed tick, so the admin sees at most a few
+ * updates per second whatever the answer rate.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AdminStatsPublisher {
+
+    private static final String SESSION_EXCHANGE = "/exchange/amq.topic/session.";
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final LiveSessionRegistry liveSessionRegistry;
+
+    @Scheduled(fixedDelayString = "${app.admin.stats-interval-ms:250}")
+    public void publish() {
+        for (LiveSession live : liveSessionRegistry.getAll()) {
+            try {
+                publishResponseCount(live);
+            } catch (Exception e) {
+                log.error("Error publishing admin stats for session {}: {}", live.getCode(), e.getMessage(), e);
+            }
+        }
+    }
+
+    private void publishResponseCount(LiveSession live) {
+        // Keep publishing the last shown question so its final count goes out after it ends
+        List<LiveQuestion> questions = live.getQuestions();
+        int index = live.getCurrentQuestionIndex();
+        if (index < 0 || index >= questions.size()) {
+            return;
+        }
+
+        LiveQuestion question = questions.get(index);
+        int count = question.getResponseCount();
+        if (!question.markResponseCountPublished(count)) {
+            return;
+        }
+
+        Map<String, Object> adminUpdate = new HashMap<>();
+        adminUpdate.put("type", "RESPONSE_COUNT");
+        adminUpdate.put("questionId", question.getId());
+        adminUpdate.put("count", count);
+        adminUpdate.put("distribution", question.getAnswerDistribution());
+
+        messagingTemplate.convertAndSend(SESSION_EXCHANGE + live.getCode() + ".admin", adminUpdate);
+    }
+}
@@ -0,0 +1,227 @@
+package com.quiz.service;
+
+import com.quiz.dto.*;
+import com.quiz.live.LiveSession;
+import com.quiz.live.QuestionWindow;
+import io.netty.util.Timeout;
+import io.netty.util.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Drives sessions through their questions without an admin: show, close when the
+ * time limit expires, broadcast the results, pause, advance, and finally finish.
+ * All timelines share the hashed-wheel timer; the steps themselves run on a
+ * small worker pool because they touch the database. A step that fails on the
+ * database (typically answers the response writer is still retrying) is retried
+ * after the writer's backoff; any other failure stops the autopilot and tells the host.
+ */
+@Service
+@Slf4j
+public class AutopilotService {
+
+    private static final long MIN_RETRY_MS = 1000;
+
+    private static final class Autopilot {
+        final String code;
+        final long pauseMs;
+        volatile Timeout timeout;
+        volatile boolean stopped;
+        // Next question to show, -1 until the first advance reads it from the live session
+        volatile int nextIndex = -1;
+
+        Autopilot(String code, long pauseMs) {
+            this.code = code;
+            this.pauseMs = pauseMs;
+        }
+    }
+
+    private final SessionService sessionService;
+    private final SessionEventPublisher eventPublisher;
+    private final LiveSessionRegistry liveSessionRegistry;
+    private final ResponseWriter responseWriter;
+    private final Timer sessionTimer;
+    private final ExecutorService stepExecutor;
+    private final long defaultPauseMs;
+    private final long graceMs;
+
+    private final Map<Long, Autopilot> running = new ConcurrentHashMap<>();
+
+    public AutopilotService(SessionService sessionService,
+            SessionEventPublisher eventPublisher,
+            LiveSessionRegistry liveSessionRegistry,
+            ResponseWriter responseWriter,
+            Timer sessionTimer,
+            @Value("${app.autopilot.workers:4}") int workers,
+            @Value("${app.autopilot.pause-seconds:5}") int pauseSeconds,
+            @Value("${app.answers.grace-ms:500}") long graceMs) {
+        this.sessionService = sessionService;
+        this.eventPublisher = eventPublisher;
+        this.liveSessionRegistry = liveSessionRegistry;
+        this.responseWriter = responseWriter;
+        this.sessionTimer = sessionTimer;
+        this.defaultPauseMs = TimeUnit.SECONDS.toMillis(pauseSeconds);
+        this.graceMs = graceMs;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.stepExecutor = Executors.newFixedThreadPool(workers, r -> {
+            Thread thread = new Thread(r, "autopilot-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Start the autopilot on a session, starting the session first if it is still waiting
+     */
+    public SessionDTO start(Long sessionId, Integer pauseSeconds) {
+        SessionDTO session = sessionService.getSessionById(sessionId);
+        if ("FINISHED".equals(session.getStatus())) {
+            throw new RuntimeException("Session has already ended");
+        }
+
+        long pauseMs = pauseSeconds != null ? TimeUnit.SECONDS.toMillis(pauseSeconds) : defaultPauseMs;
+        Autopilot autopilot = new Autopilot(session.getCode(), pauseMs);
+        if (running.putIfAbsent(sessionId, autopilot) != null) {
+            throw new RuntimeException("Autopilot is already running for this session");
+        }
+
+        try {
+            if ("WAITING".equals(session.getStatus())) {
+                session = sessionService.startSession(sessionId);
+                eventPublisher.sessionStarted(session);
+                schedule(sessionId, autopilot, pauseMs, () -> advance(sessionId, autopilot));
+            } else if ("QUESTION_ACTIVE".equals(session.getStatus())) {
+                scheduleEnd(sessionId, autopilot);
+            } else {
+                schedule(sessionId, autopilot, 0, () -> advance(sessionId, autopilot));
+            }
+        } catch (RuntimeException e) {
+            // Leave the session free for a retry or manual control
+            autopilot.stopped = true;
+            running.remove(sessionId, autopilot);
+            throw e;
+        }
+
+        log.info("Autopilot started for session {}", session.getCode());
+        return session;
+    }
+
+    public void stop(Long sessionId) {
+        Autopilot autopilot = running.remove(sessionId);
+        if (autopilot != null) {
+            stop(autopilot);
+        }
+    }
+
+    private static void stop(Autopilot autopilot) {
+        autopilot.stopped = true;
+        Timeout timeout = autopilot.timeout;
+        if (timeout != null) {
+            timeout.cancel();
+        }
+        log.info("Autopilot stopped for session {}", autopilot.code);
+    }
+
+    public boolean isRunning(Long sessionId) {
+        return running.containsKey(sessionId);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        stepExecutor.shutdownNow();
+    }
+
+    /**
+     * Show the next question, or finish the session after the last one. Progress
+     * comes from the live session: steps run outside any request or transaction,
+     * where the lazy quiz of a GameSession cannot be loaded.
+     */
+    private void advance(Long sessionId, Autopilot autopilot) {
+        LiveSession live = liveSessionRegistry.get(sessionId);
+        if (autopilot.nextIndex < 0) {
+            autopilot.nextIndex = live.getCurrentQuestionIndex() + 1;
+        }
+        int next = autopilot.nextIndex;
+
+        if (next >= live.getQuestions().size()) {
+            // Taken before finishSession releases the live session
+            ScoreboardDTO scoreboard = SessionService.toScoreboard(live, null);
+            SessionDTO finished = sessionService.finishSession(sessionId);
+            running.remove(sessionId, autopilot);
+            eventPublisher.sessionEnded(finished, scoreboard);
+            log.info("Autopilot finished session {}", finished.getCode());
+            return;
+        }
+
+        sessionService.showQuestion(sessionId, next);
+        eventPublisher.questionShown(sessionId, next);
+        // Only now, so a failed show is retried on the same question
+        autopilot.nextIndex = next + 1;
+        scheduleEnd(sessionId, autopilot);
+    }
+
+    private void scheduleEnd(Long sessionId, Autopilot autopilot) {
+        QuestionWindow window = liveSessionRegistry.get(sessionId).getQuestionWindow();
+        long delayMs = window != null
+                ? TimeUnit.NANOSECONDS.toMillis(window.getDeadlineNanos() - System.nanoTime()) + graceMs
+                : 0;
+        schedule(sessionId, autopilot, delayMs, () -> endQuestion(sessionId, autopilot));
+    }
+
+    private void endQuestion(Long sessionId, Autopilot autopilot) {
+        SessionDTO session = sessionService.endQuestion(sessionId);
+        eventPublisher.questionEnded(session);
+        schedule(sessionId, autopilot, autopilot.pauseMs, () -> advance(sessionId, autopilot));
+    }
+
+    private void schedule(Long sessionId, Autopilot autopilot, long delayMs, Runnable step) {
+        if (autopilot.stopped) {
+            return;
+        }
+        autopilot.timeout = sessionTimer.newTimeout(timeout -> stepExecutor.execute(() -> {
+            if (autopilot.stopped) {
+                return;
+            }
+            try {
+                step.run();
+            } catch (Exception e) {
+                if (isRetryable(e)) {
+                    long retryMs = Math.max(MIN_RETRY_MS, responseWriter.getRetryDelayMs());
+                    log.warn("Autopilot step failed for session {}, retrying in {} ms: {}",
+                            autopilot.code, retryMs, e.getMessage());
+                    schedule(sessionId, autopilot, retryMs, step);
+                    return;
+                }
+                log.error("Autopilot step failed for session {}: {}", autopilot.code, e.getMessage(), e);
+                if (running.remove(sessionId, autopilot)) {
+                    stop(autopilot);
+                    eventPublisher.autopilotStopped(autopilot.code, e.getMessage());
+                }
+            }
+        }), Math.max(0, delayMs), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Database outages and answers still waiting for the writer clear up on their own
+     */
+    private static boolean isRetryable(Throwable e) {
+        return e instanceof RecoverableDataAccessException
+                || e instanceof TransientDataAccessException
+                || e instanceof DataAccessResourceFailureException
+                || e instanceof TransactionException;
+    }
+}
@@ -0,0 +1,78 @@
+package com.quiz.service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+
+/**
+ * Keyed bijection over [0, 36^6): a 4-round Feistel network on 32 bits with
+ * HMAC-SHA256 round functions, cycle-walked back into the code space.
+ * Distinct inputs always give distinct codes, and without the key the next
+ * code cannot be predicted from earlier ones.
+ */
+final class CodePermutation {
+
+    static final String ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+    static final int LENGTH = 6;
+    static final long SIZE = 2_176_782_336L; // 36^6
+
+    private static final int ROUNDS = 4;
+
+    private final SecretKeySpec key;
+
+    CodePermutation(String secret) {
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+    }
+
+    /**
+     * Code at position {@code index} of the permutation
+     */
+    String code(long index) {
+        if (index < 0 || index >= SIZE) {
+            throw new IllegalArgumentException("Index outside the code space: " + index);
+        }
+        Mac mac = newMac();
+        long value = index;
+        // 36^6 is about half of 2^32, so this takes two passes on average
+        do {
+            value = encrypt(mac, value);
+        } while (value >= SIZE);
+        return encode(value);
+    }
+
+    private static long encrypt(Mac mac, long value) {
+        int left = (int) (value >>> 16) & 0xFFFF;
+        int right = (int) value & 0xFFFF;
+        for (int round = 0; round < ROUNDS; round++) {
+            int next = left ^ roundFunction(mac, round, right);
+            left = right;
+            right = next;
+        }
+        return ((long) left << 16) | right;
+    }
+
+    private static int roundFunction(Mac mac, int round, int half) {
+        byte[] digest = mac.doFinal(new byte[] { (byte) round, (byte) (half >>> 8), (byte) half });
+        return ((digest[0] & 0xFF) << 8) | (digest[1] & 0xFF);
+    }
+
+    private static String encode(long value) {
+        char[] chars = new char[LENGTH];
+        for (int i = LENGTH - 1; i >= 0; i--) {
+            chars[i] = ALPHABET.charAt((int) (value % ALPHABET.length()));
+            value /= ALPHABET.length();
+        }
+        return new String(chars);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 unavailable", e);
+        }
+    }
+}
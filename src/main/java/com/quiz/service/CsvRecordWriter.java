@@ -0,0 +1,40 @@
+package com.quiz.service;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * RFC 4180 record writer, the counterpart of {@link CsvRecordReader}
+ */
+class CsvRecordWriter {
+
+    private final Writer writer;
+
+    CsvRecordWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    void write(Object... fields) throws IOException {
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (fields[i] != null) {
+                writeField(fields[i].toString());
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    private void writeField(String value) throws IOException {
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
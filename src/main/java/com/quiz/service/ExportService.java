@@ -0,0 +1,227 @@
+package com.quiz.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quiz.model.GameSession;
+import com.quiz.repository.QuizRepository;
+import com.quiz.repository.SessionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Streams quizzes and session results straight from a forward-only JDBC cursor
+ * to the response as JSON Lines or CSV, one row in memory at a time.
+ * Quiz CSV uses the same columns as the bulk import, so an export can be re-imported;
+ * question_no keeps questions with the same text apart, and a question without
+ * answers is exported as one row with empty answer columns.
+ */
+@Service
+public class ExportService {
+
+    private static final String QUIZ_ROWS = "SELECT q.id, q.text, q.points, q.time_limit, q.media_url, "
+            + "q.question_order, a.label, a.text, a.is_correct "
+            + "FROM questions q LEFT JOIN answers a ON a.question_id = q.id "
+            + "WHERE q.quiz_id = ? ORDER BY q.question_order, q.id, a.id";
+
+    private static final String RESULT_ROWS = "SELECT p.id, p.first_name, p.last_name, q.question_order, q.id, "
+            + "q.text, a.id, a.label, a.text, r.is_correct, r.response_time_ms, r.points_earned "
+            + "FROM participant_responses r "
+            + "JOIN participants p ON p.id = r.participant_id "
+            + "JOIN questions q ON q.id = r.question_id "
+            + "JOIN answers a ON a.id = r.answer_id "
+            + "WHERE p.session_id = ? ORDER BY r.participant_id, q.question_order";
+
+    private static final String[] RESULT_COLUMNS = { "participantId", "firstName", "lastName", "questionOrder",
+            "questionId", "question", "answerId", "label", "answer", "correct", "responseTimeMs", "points" };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final QuizRepository quizRepository;
+    private final SessionRepository sessionRepository;
+    private final int fetchSize;
+
+    public ExportService(JdbcTemplate jdbcTemplate,
+            ObjectMapper objectMapper,
+            QuizRepository quizRepository,
+            SessionRepository sessionRepository,
+            @Value("${app.export.fetch-size:-2147483648}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.quizRepository = quizRepository;
+        this.sessionRepository = sessionRepository;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Fails before any output is written if the quiz does not exist
+     */
+    public void requireQuiz(Long quizId) {
+        if (!quizRepository.existsById(quizId)) {
+            throw new RuntimeException("Quiz not found with id: " + quizId);
+        }
+    }
+
+    /**
+     * Code of the session, which must have finished; checked before any output is written
+     */
+    public String requireFinishedSession(Long sessionId) {
+        GameSession session = sessionRepository.findById(sessionId)
+                .orElseThrow(() -> new RuntimeException("Session not found"));
+        if (session.getStatus() != GameSession.SessionStatus.FINISHED) {
+            throw new RuntimeException("Session has not finished yet");
+        }
+        return session.getCode();
+    }
+
+    public void writeQuiz(Long quizId, boolean csv, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (csv) {
+            CsvRecordWriter records = new CsvRecordWriter(writer);
+            records.write("question_no", "question", "points", "time_limit", "media_url", "label", "answer",
+                    "correct");
+            long[] currentQuestion = { -1 };
+            int[] questionNo = { 0 };
+            stream(QUIZ_ROWS, quizId, rs -> {
+                long questionId = rs.getLong(1);
+                if (questionId != currentQuestion[0]) {
+                    currentQuestion[0] = questionId;
+                    questionNo[0]++;
+                }
+                records.write(questionNo[0], rs.getString(2), rs.getInt(3), nullableInt(rs, 4),
+                        rs.getString(5), rs.getString(7), rs.getString(8), nullableBoolean(rs, 9));
+            });
+        } else {
+            JsonGenerator json = jsonLines(writer);
+            long[] currentQuestion = { -1 };
+            stream(QUIZ_ROWS, quizId, rs -> {
+                // Rows arrive grouped by question; close the previous line when it changes
+                long questionId = rs.getLong(1);
+                if (questionId != currentQuestion[0]) {
+                    if (currentQuestion[0] != -1) {
+                        json.writeEndArray();
+                        json.writeEndObject();
+                    }
+                    currentQuestion[0] = questionId;
+                    json.writeStartObject();
+                    json.writeNumberField("id", questionId);
+                    json.writeStringField("text", rs.getString(2));
+                    json.writeNumberField("points", rs.getInt(3));
+                    json.writeObjectField("timeLimit", nullableInt(rs, 4));
+                    json.writeStringField("mediaUrl", rs.getString(5));
+                    json.writeNumberField("questionOrder", rs.getInt(6));
+                    json.writeArrayFieldStart("answers");
+                }
+                if (rs.getString(7) != null) {
+                    json.writeStartObject();
+                    json.writeStringField("label", rs.getString(7));
+                    json.writeStringField("text", rs.getString(8));
+                    json.writeObjectField("isCorrect", nullableBoolean(rs, 9));
+                    json.writeEndObject();
+                }
+            });
+            if (currentQuestion[0] != -1) {
+                json.writeEndArray();
+                json.writeEndObject();
+                json.writeRaw('\n');
+            }
+            json.flush();
+        }
+        writer.flush();
+    }
+
+    public void writeSessionResults(Long sessionId, boolean csv, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (csv) {
+            CsvRecordWriter records = new CsvRecordWriter(writer);
+            records.write((Object[]) RESULT_COLUMNS);
+            stream(RESULT_ROWS, sessionId, rs -> records.write(rs.getLong(1), rs.getString(2), rs.getString(3),
+                    rs.getInt(4), rs.getLong(5), rs.getString(6), rs.getLong(7), rs.getString(8),
+                    rs.getString(9), nullableBoolean(rs, 10), rs.getLong(11), rs.getInt(12)));
+        } else {
+            JsonGenerator json = jsonLines(writer);
+            boolean[] any = { false };
+            stream(RESULT_ROWS, sessionId, rs -> {
+                any[0] = true;
+                json.writeStartObject();
+                json.writeNumberField(RESULT_COLUMNS[0], rs.getLong(1));
+                json.writeStringField(RESULT_COLUMNS[1], rs.getString(2));
+                json.writeStringField(RESULT_COLUMNS[2], rs.getString(3));
+                json.writeNumberField(RESULT_COLUMNS[3], rs.getInt(4));
+                json.writeNumberField(RESULT_COLUMNS[4], rs.getLong(5));
+                json.writeStringField(RESULT_COLUMNS[5], rs.getString(6));
+                json.writeNumberField(RESULT_COLUMNS[6], rs.getLong(7));
+                json.writeStringField(RESULT_COLUMNS[7], rs.getString(8));
+                json.writeStringField(RESULT_COLUMNS[8], rs.getString(9));
+                json.writeObjectField(RESULT_COLUMNS[9], nullableBoolean(rs, 10));
+                json.writeNumberField(RESULT_COLUMNS[10], rs.getLong(11));
+                json.writeNumberField(RESULT_COLUMNS[11], rs.getInt(12));
+                json.writeEndObject();
+            });
+            if (any[0]) {
+                json.writeRaw('\n');
+            }
+            json.flush();
+        }
+        writer.flush();
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(ResultSet rs) throws SQLException, IOException;
+    }
+
+    /**
+     * Run the query on a forward-only, read-only cursor. The default fetch size
+     * (Integer.MIN_VALUE) makes MySQL Connector/J stream rows instead of buffering
+     * the whole result.
+     */
+    private void stream(String sql, Long id, RowWriter rowWriter) throws IOException {
+        try {
+            jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(sql,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(fetchSize);
+                ps.setLong(1, id);
+                return ps;
+            }, (RowCallbackHandler) rs -> {
+                try {
+                    rowWriter.write(rs);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private JsonGenerator jsonLines(Writer writer) throws IOException {
+        JsonGenerator json = objectMapper.getFactory().createGenerator(writer);
+        json.setRootValueSeparator(new SerializedString("\n"));
+        return json;
+    }
+
+    private static Integer nullableInt(ResultSet rs, int column) throws SQLException {
+        int value = rs.getInt(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    private static Boolean nullableBoolean(ResultSet rs, int column) throws SQLException {
+        boolean value = rs.getBoolean(column);
+        return rs.wasNull() ? null : value;
+    }
+}
@@ -0,0 +1,152 @@
+package com.quiz.service;
+
+import com.quiz.live.JoinAdmission;
+import com.quiz.model.*;
+import com.quiz.repository.*;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Admission state of sessions that accept joins, keyed by code. An admission is
+ * loaded from the database on the first join of a session; after that joins are
+ * admitted or refused in memory. Closed when the session starts, dropped when it ends.
+ */
+@Service
+@Slf4j
+public class JoinAdmissionRegistry {
+
+    private final SessionRepository sessionRepository;
+    private final ParticipantRepository participantRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final long settleTimeoutMs;
+
+    private final Map<String, JoinAdmission> admissionsByCode = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<JoinAdmission>> loading = new ConcurrentHashMap<>();
+    private final Set<Long> closedSessionIds = ConcurrentHashMap.newKeySet();
+
+    public JoinAdmissionRegistry(SessionRepository sessionRepository,
+            ParticipantRepository participantRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.join.timeout-ms:10000}") long joinTimeoutMs) {
+        this.sessionRepository = sessionRepository;
+        this.participantRepository = participantRepository;
+        // A queued join gives up after the join timeout; one already being written finishes soon after
+        this.settleTimeoutMs = 2 * joinTimeoutMs;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public JoinAdmission get(String code) {
+        String normalized = code.toUpperCase();
+        JoinAdmission admission = admissionsByCode.get(normalized);
+        if (admission != null) {
+            return admission;
+        }
+
+        // One request loads; the rest of the join storm waits on its future rather
+        // than a monitor, which would pin virtual threads during the query
+        CompletableFuture<JoinAdmission> created = new CompletableFuture<>();
+        CompletableFuture<JoinAdmission> pending = loading.putIfAbsent(normalized, created);
+        if (pending != null) {
+            try {
+                return pending.join();
+            } catch (CompletionException e) {
+                throw (RuntimeException) e.getCause();
+            }
+        }
+        try {
+            JoinAdmission loaded = load(normalized);
+            JoinAdmission existing = admissionsByCode.putIfAbsent(normalized, loaded);
+            admission = existing != null ? existing : loaded;
+            if (closedSessionIds.contains(admission.getSessionId())) {
+                // Loaded while the session was starting
+                admission.close();
+            }
+            created.complete(admission);
+            return admission;
+        } catch (RuntimeException e) {
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(normalized, created);
+        }
+    }
+
+    public Collection<JoinAdmission> getAll() {
+        return admissionsByCode.values();
+    }
+
+    /**
+     * Refuse further joins to a session that is starting, then wait for the joins
+     * already admitted to be written. Called before the start reads the participants,
+     * so the live session is loaded with every admitted participant.
+     */
+    public void close(Long sessionId) {
+        closedSessionIds.add(sessionId);
+        // A load that began before the session was marked may still publish an open admission
+        for (CompletableFuture<JoinAdmission> pending : loading.values()) {
+            try {
+                pending.join();
+            } catch (RuntimeException ignored) {
+                // The joiner that started the load reports its failure
+            }
+        }
+        for (JoinAdmission admission : admissionsByCode.values()) {
+            if (!admission.getSessionId().equals(sessionId)) {
+                continue;
+            }
+            admission.close();
+            try {
+                if (!admission.awaitSettled(settleTimeoutMs)) {
+                    log.warn("Joins to session {} still unsettled after {} ms; late participants "
+                            + "will be missing from the live session", admission.getCode(), settleTimeoutMs);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while closing registration");
+            }
+        }
+    }
+
+    /**
+     * Undo {@link #close(Long)} after a start that failed
+     */
+    public void reopen(Long sessionId) {
+        closedSessionIds.remove(sessionId);
+        admissionsByCode.values().removeIf(admission -> admission.getSessionId().equals(sessionId));
+    }
+
+    public void remove(Long sessionId, String code) {
+        admissionsByCode.remove(code);
+        closedSessionIds.remove(sessionId);
+    }
+
+    private JoinAdmission load(String code) {
+        return readOnlyTransaction.execute(status -> {
+            GameSession session = sessionRepository.findByCode(code)
+                    .orElseThrow(() -> new RuntimeException("Session not found"));
+            if (session.getStatus() == GameSession.SessionStatus.FINISHED) {
+                throw new RuntimeException("Session has already ended");
+            }
+            boolean open = Boolean.TRUE.equals(session.getOpenRegistration())
+                    && !closedSessionIds.contains(session.getId());
+            JoinAdmission admission = new JoinAdmission(session.getId(), session.getCode(),
+                    session.getMaxParticipants(), open,
+                    open ? participantRepository.findNamesBySessionId(session.getId()) : List.of());
+            log.info("Loaded join admission for session {} with {} participants",
+                    code, admission.getParticipantCount());
+            return admission;
+        });
+    }
+}
@@ -0,0 +1,170 @@
+package com.quiz.service;
+
+import com.quiz.live.LiveParticipant;
+import com.quiz.live.LiveQuestion;
+import com.quiz.live.LiveSession;
+import com.quiz.model.*;
+import com.quiz.repository.*;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps running sessions in memory so the answer hot path never reads the database.
+ * Sessions are loaded by startSession and dropped by finishSession; a session missing
+ * after a restart is reloaded once on first access.
+ */
+@Service
+@Slf4j
+public class LiveSessionRegistry {
+
+    private final SessionRepository sessionRepository;
+    private final QuestionRepository questionRepository;
+    private final ParticipantRepository participantRepository;
+    private final ResponseRepository responseRepository;
+    private final QuestionPayloadCache questionPayloadCache;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final Map<String, LiveSession> sessionsByCode = new ConcurrentHashMap<>();
+    private final Map<Long, LiveSession> sessionsById = new ConcurrentHashMap<>();
+    private final ReentrantLock loadLock = new ReentrantLock();
+
+    public LiveSessionRegistry(SessionRepository sessionRepository,
+            QuestionRepository questionRepository,
+            ParticipantRepository participantRepository,
+            ResponseRepository responseRepository,
+            QuestionPayloadCache questionPayloadCache,
+            PlatformTransactionManager transactionManager) {
+        this.sessionRepository = sessionRepository;
+        this.questionRepository = questionRepository;
+        this.participantRepository = participantRepository;
+        this.responseRepository = responseRepository;
+        this.questionPayloadCache = questionPayloadCache;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Load a session with its questions, answers and participants.
+     * Must be called inside a transaction.
+     */
+    public LiveSession load(GameSession session) {
+        Quiz quiz = session.getQuiz();
+        List<Question> questions = questionRepository.findWithAnswersByQuizId(quiz.getId());
+
+        if (Boolean.TRUE.equals(quiz.getShuffleQuestions())) {
+            // Seeded by session id so a reload after restart keeps the same order
+            questions = new ArrayList<>(questions);
+            Collections.shuffle(questions, new Random(session.getId()));
+        }
+
+        List<LiveQuestion> liveQuestions = new ArrayList<>(questions.size());
+        for (int i = 0; i < questions.size(); i++) {
+            liveQuestions.add(new LiveQuestion(questions.get(i), i));
+        }
+
+        LiveSession live = new LiveSession(session.getId(), session.getCode(), quiz.getId(),
+                Boolean.TRUE.equals(quiz.getLiveScoreboard()), liveQuestions);
+        questionPayloadCache.prepare(live, Boolean.TRUE.equals(quiz.getShuffleAnswers()));
+
+        for (Participant participant : participantRepository.findBySessionId(session.getId())) {
+            live.addParticipant(new LiveParticipant(participant));
+        }
+
+        for (Object[] row : responseRepository.findAnswersBySessionId(session.getId())) {
+            LiveParticipant participant = live.getParticipant((Long) row[0]);
+            LiveQuestion question = live.getQuestion((Long) row[1]);
+            if (participant != null && question != null && question.markAnswered(participant)) {
+                question.incrementResponseCount();
+                question.recordAnswer((Long) row[2]);
+            }
+        }
+
+        live.setCurrentQuestionIndex(session.getCurrentQuestionIndex());
+        if (session.getStatus() == GameSession.SessionStatus.QUESTION_ACTIVE
+                && session.getCurrentQuestionIndex() >= 0
+                && session.getCurrentQuestionIndex() < liveQuestions.size()) {
+            // Rebase the wall-clock start time onto the monotonic clock
+            long elapsedNanos = session.getQuestionStartTime() != null
+                    ? Duration.between(session.getQuestionStartTime(), LocalDateTime.now()).toNanos()
+                    : 0L;
+            live.openQuestion(liveQuestions.get(session.getCurrentQuestionIndex()),
+                    System.nanoTime() - Math.max(0L, elapsedNanos));
+        }
+
+        sessionsById.put(live.getId(), live);
+        sessionsByCode.put(live.getCode(), live);
+        log.info("Loaded live session {} with {} questions and {} participants",
+                live.getCode(), liveQuestions.size(), live.getParticipants().size());
+        return live;
+    }
+
+    public LiveSession get(String code) {
+        String normalized = code.toUpperCase();
+        LiveSession live = sessionsByCode.get(normalized);
+        if (live != null) {
+            return live;
+        }
+        return reload(() -> sessionRepository.findByCode(normalized)
+                .orElseThrow(() -> new RuntimeException("Session not found with code: " + code)));
+    }
+
+    public LiveSession get(Long sessionId) {
+        LiveSession live = sessionsById.get(sessionId);
+        if (live != null) {
+            return live;
+        }
+        return reload(() -> sessionRepository.findById(sessionId)
+                .orElseThrow(() -> new RuntimeException("Session not found")));
+    }
+
+    /**
+     * Live session if it is already in memory, without touching the database
+     */
+    public Optional<LiveSession> find(Long sessionId) {
+        return Optional.ofNullable(sessionsById.get(sessionId));
+    }
+
+    public Collection<LiveSession> getAll() {
+        return sessionsById.values();
+    }
+
+    public void remove(Long sessionId) {
+        LiveSession live = sessionsById.remove(sessionId);
+        if (live != null) {
+            sessionsByCode.remove(live.getCode());
+            log.info("Released live session {}", live.getCode());
+        }
+    }
+
+    private LiveSession reload(Supplier<GameSession> finder) {
+        return readOnlyTransaction.execute(status -> {
+            GameSession session = finder.get();
+            if (session.getStatus() == GameSession.SessionStatus.FINISHED) {
+                throw new RuntimeException("Session has already ended");
+            }
+            // A lock rather than a monitor: the load queries the database and would pin a virtual thread
+            loadLock.lock();
+            try {
+                LiveSession existing = sessionsById.get(session.getId());
+                return existing != null ? existing : load(session);
+            } finally {
+                loadLock.unlock();
+            }
+        });
+    }
+}
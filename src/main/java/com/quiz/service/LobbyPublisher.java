@@ -0,0 +1,55 @@
+package com.quiz.service;
+
+import com.quiz.dto.ParticipantDTO;
+import com.quiz.live.JoinAdmission;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Coalesces joins into one LOBBY_UPDATE per session and tick, carrying the
+ * participants added since the previous update and the current count. Each
+ * joiner is delivered to the lobby once, instead of one broadcast per join.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LobbyPublisher {
+
+    private static final String SESSION_EXCHANGE = "/exchange/amq.topic/session.";
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final JoinAdmissionRegistry joinAdmissionRegistry;
+
+    @Scheduled(fixedDelayString = "${app.lobby.tick-ms:250}")
+    public void tick() {
+        for (JoinAdmission admission : joinAdmissionRegistry.getAll()) {
+            try {
+                publish(admission);
+            } catch (Exception e) {
+                log.error("Error publishing lobby update for session {}: {}", admission.getCode(), e.getMessage(), e);
+            }
+        }
+    }
+
+    private void publish(JoinAdmission admission) {
+        // Closed admissions still flush joins admitted just before the start
+        List<ParticipantDTO> joined = admission.drainJoined();
+        if (joined.isEmpty()) {
+            return;
+        }
+
+        Map<String, Object> message = new HashMap<>();
+        message.put("type", "LOBBY_UPDATE");
+        message.put("participants", joined);
+        message.put("participantCount", admission.getParticipantCount());
+
+        messagingTemplate.convertAndSend(SESSION_EXCHANGE + admission.getCode(), message);
+    }
+}
@@ -0,0 +1,189 @@
+package com.quiz.service;
+
+import com.quiz.live.JoinAdmission;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Group commit for admitted joins. Join requests queue their participant and wait;
+ * one writer thread inserts everything queued since its last round in a single
+ * JDBC batch and hands each caller its generated id. Under a join storm the
+ * database sees a few large inserts instead of one transaction per student.
+ */
+@Service
+@Slf4j
+public class ParticipantWriter {
+
+    private static final String INSERT_PARTICIPANT = "INSERT INTO participants "
+            + "(first_name, last_name, total_score, total_response_time, is_connected, session_id) "
+            + "VALUES (?, ?, 0, 0, TRUE, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate writeTransaction;
+    private final QuizMetrics metrics;
+    private final BlockingQueue<PendingJoin> queue = new LinkedBlockingQueue<>();
+    private final int batchSize;
+    private final long timeoutMs;
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "participant-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * {@code claimed} is won either by the writer, which then inserts the join, or by
+     * the caller giving up on it, which cancels the join before it is written
+     */
+    private record PendingJoin(JoinAdmission admission, String firstName, String lastName,
+            CompletableFuture<Long> id, AtomicBoolean claimed) {
+    }
+
+    public ParticipantWriter(JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            QuizMetrics metrics,
+            @Value("${app.join.batch-size:200}") int batchSize,
+            @Value("${app.join.timeout-ms:10000}") long timeoutMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.metrics = metrics;
+        this.batchSize = batchSize;
+        this.timeoutMs = timeoutMs;
+        writer.execute(this::run);
+    }
+
+    /**
+     * Persist an admitted participant and return its id. If the insert fails, or the
+     * join times out before the writer picks it up, the seat and name are given back
+     * to the admission. A join already being written is waited for, so a caller is
+     * never told it failed while its participant row commits.
+     */
+    public Long insert(JoinAdmission admission, String firstName, String lastName) {
+        PendingJoin join = new PendingJoin(admission, firstName, lastName,
+                new CompletableFuture<>(), new AtomicBoolean());
+        queue.add(join);
+        try {
+            try {
+                return join.id().get(timeoutMs, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException | InterruptedException e) {
+                if (join.claimed().compareAndSet(false, true)) {
+                    admission.release(firstName, lastName);
+                    if (e instanceof InterruptedException) {
+                        Thread.currentThread().interrupt();
+                        throw new RuntimeException("Join interrupted");
+                    }
+                    throw new RuntimeException("Join timed out, please try again");
+                }
+                return awaitWritten(join);
+            }
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Could not join session: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    private static Long awaitWritten(PendingJoin join) throws ExecutionException {
+        boolean interrupted = Thread.interrupted();
+        try {
+            while (true) {
+                try {
+                    return join.id().get();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writer.shutdownNow();
+    }
+
+    private void run() {
+        List<PendingJoin> batch = new ArrayList<>(batchSize);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            queue.drainTo(batch, batchSize - 1);
+            batch.removeIf(join -> !join.claimed().compareAndSet(false, true));
+            if (!batch.isEmpty()) {
+                write(batch);
+            }
+            batch.clear();
+        }
+    }
+
+    private void write(List<PendingJoin> batch) {
+        metrics.joinBatch(batch.size());
+        List<Long> ids;
+        try {
+            ids = writeTransaction.execute(status -> writeBatch(batch));
+        } catch (RuntimeException e) {
+            log.error("Insert of {} joined participants failed: {}", batch.size(), e.getMessage(), e);
+            for (PendingJoin join : batch) {
+                join.admission().release(join.firstName(), join.lastName());
+                join.id().completeExceptionally(e);
+            }
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).id().complete(ids.get(i));
+        }
+    }
+
+    private List<Long> writeBatch(List<PendingJoin> batch) {
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(con -> con.prepareStatement(INSERT_PARTICIPANT, new String[] { "id" }),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        PendingJoin join = batch.get(i);
+                        ps.setString(1, join.firstName());
+                        ps.setString(2, join.lastName());
+                        ps.setLong(3, join.admission().getSessionId());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return batch.size();
+                    }
+                }, keys);
+
+        List<Long> ids = new ArrayList<>(batch.size());
+        for (Map<String, Object> key : keys.getKeyList()) {
+            ids.add(((Number) key.values().iterator().next()).longValue());
+        }
+        return ids;
+    }
+}
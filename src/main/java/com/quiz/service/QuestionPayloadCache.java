@@ -0,0 +1,79 @@
+package com.quiz.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quiz.dto.*;
+import com.quiz.live.LiveQuestion;
+import com.quiz.live.LiveSession;
+import com.quiz.model.*;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+/**
+ * Builds the participant-facing NEW_QUESTION messages of a live session once,
+ * when it is loaded, so showing a question is a lookup and a send.
+ */
+@Service
+@RequiredArgsConstructor
+public class QuestionPayloadCache {
+
+    private final ObjectMapper objectMapper;
+
+    public void prepare(LiveSession live, boolean shuffleAnswers) {
+        int totalQuestions = live.getQuestions().size();
+        for (LiveQuestion question : live.getQuestions()) {
+            // Seeded per session and question so a reload after restart keeps the same order
+            Random shuffle = shuffleAnswers ? new Random(31 * live.getId() + question.getId()) : null;
+            QuestionDTO view = toQuestionDTOForParticipant(question.getQuestion(), shuffle);
+
+            Map<String, Object> message = new HashMap<>();
+            message.put("type", "NEW_QUESTION");
+            message.put("question", view);
+            message.put("questionIndex", question.getIndex());
+            message.put("totalQuestions", totalQuestions);
+
+            try {
+                question.setParticipantPayload(view, objectMapper.writeValueAsBytes(message));
+            } catch (JsonProcessingException e) {
+                throw new RuntimeException("Failed to serialize question " + question.getId(), e);
+            }
+        }
+    }
+
+    private QuestionDTO toQuestionDTOForParticipant(Question question, Random shuffle) {
+        QuestionDTO dto = new QuestionDTO();
+        dto.setId(question.getId());
+        dto.setText(question.getText());
+        dto.setTimeLimit(question.getEffectiveTimeLimit());
+        dto.setMediaUrl(question.getMediaUrl());
+        dto.setQuestionOrder(question.getQuestionOrder());
+
+        List<Answer> answers = question.getAnswers();
+        if (shuffle != null) {
+            answers = new ArrayList<>(answers);
+            Collections.shuffle(answers, shuffle);
+        }
+
+        // Don't send isCorrect to participants
+        dto.setAnswers(answers.stream()
+                .map(a -> {
+                    AnswerDTO aDto = new AnswerDTO();
+                    aDto.setId(a.getId());
+                    aDto.setLabel(a.getLabel());
+                    aDto.setText(a.getText());
+                    aDto.setIsCorrect(null); // Hide correct answer
+                    return aDto;
+                })
+                .collect(Collectors.toList()));
+
+        return dto;
+    }
+}
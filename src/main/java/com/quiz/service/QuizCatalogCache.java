@@ -0,0 +1,58 @@
+package com.quiz.service;
+
+import com.quiz.dto.QuizDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU cache of fully materialized quizzes, keyed by quiz id.
+ * An entry is only served while its version matches the quiz row's version,
+ * so a change made through any instance invalidates it.
+ * Cached DTOs are shared and must not be modified.
+ */
+@Service
+public class QuizCatalogCache {
+
+    private record Entry(long version, QuizDTO quiz) {
+    }
+
+    private final Map<Long, Entry> entries;
+    private final int maxEntries;
+
+    public QuizCatalogCache(@Value("${app.quiz-cache.max-entries:256}") int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * Cached quiz if present at exactly this version, otherwise null
+     */
+    public synchronized QuizDTO get(Long quizId, long version) {
+        Entry entry = entries.get(quizId);
+        return entry != null && entry.version() == version ? entry.quiz() : null;
+    }
+
+    public synchronized void put(Long quizId, long version, QuizDTO quiz) {
+        Entry current = entries.get(quizId);
+        // A slower reader must not replace a newer entry
+        if (current == null || current.version() <= version) {
+            entries.put(quizId, new Entry(version, quiz));
+        }
+    }
+
+    public synchronized void evict(Long quizId) {
+        entries.remove(quizId);
+    }
+}
@@ -0,0 +1,452 @@
+package com.quiz.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.quiz.dto.*;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bulk quiz import that parses the upload as it arrives and writes questions and
+ * answers in JDBC batches, so memory stays flat regardless of the bank's size.
+ * The whole import runs in one transaction; a failure leaves nothing behind. The
+ * transaction is bounded by the import timeout: a slow upload fails on its next
+ * read or batch write once the timeout has passed, instead of holding locks open.
+ *
+ * JSON: the QuizDTO shape, {"title": ..., "questions": [{"text": ..., "answers": [...]}]}.
+ * CSV: header row with question, points, time_limit, media_url, label, answer, correct
+ * and optionally question_no; one row per answer. Consecutive rows with the same
+ * question_no form one question, or without that column the same question text.
+ * A row with neither label nor answer is a question without answers.
+ */
+@Service
+@Slf4j
+public class QuizImportService {
+
+    private static final String INSERT_QUIZ = "INSERT INTO quizzes "
+            + "(title, time_per_question, shuffle_questions, shuffle_answers, live_scoreboard, version, created_at, updated_at) "
+            + "VALUES (?, 30, false, false, false, 1, ?, ?)";
+
+    private static final String UPDATE_QUIZ = "UPDATE quizzes SET title = ?, description = ?, time_per_question = ?, "
+            + "shuffle_questions = ?, shuffle_answers = ?, live_scoreboard = ? WHERE id = ?";
+
+    private static final String INSERT_QUESTION = "INSERT INTO questions "
+            + "(quiz_id, text, points, time_limit, media_url, question_order) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_ANSWER = "INSERT INTO answers "
+            + "(question_id, label, text, is_correct) VALUES (?, ?, ?, ?)";
+
+    private static final int KEEP_FINISHED = 20;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate importTransaction;
+    private final int batchSize;
+    private final long timeoutMs;
+
+    private final Map<Long, ImportJob> imports = new ConcurrentHashMap<>();
+    private final AtomicLong importIds = new AtomicLong();
+
+    public QuizImportService(JdbcTemplate jdbcTemplate,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.import.batch-size:500}") int batchSize,
+            @Value("${app.import.timeout-seconds:300}") int timeoutSeconds) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.importTransaction = new TransactionTemplate(transactionManager);
+        // Applied by JdbcTemplate as the remaining query timeout of every batch
+        this.importTransaction.setTimeout(timeoutSeconds);
+        this.batchSize = batchSize;
+        this.timeoutMs = TimeUnit.SECONDS.toMillis(timeoutSeconds);
+    }
+
+    /**
+     * Import a quiz from {@code in}; blocks until the upload is fully read
+     */
+    public ImportProgressDTO importQuiz(InputStream in, String format, String title, long totalBytes) {
+        boolean csv = "csv".equalsIgnoreCase(format);
+        ImportJob job = new ImportJob(importIds.incrementAndGet(), csv ? "csv" : "json", totalBytes);
+        imports.put(job.id, job);
+        prune();
+
+        CountingInputStream counted = new CountingInputStream(in, job.bytesRead,
+                System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs));
+        try {
+            importTransaction.executeWithoutResult(status -> {
+                try {
+                    if (csv) {
+                        importCsv(counted, title, job);
+                    } else {
+                        importJson(counted, title, job);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e.getMessage(), e);
+                }
+            });
+            job.status = "COMPLETED";
+            log.info("Import {} finished: quiz {} with {} questions and {} answers in {} ms",
+                    job.id, job.quizId, job.questions.get(), job.answers.get(), job.elapsedMs());
+        } catch (RuntimeException e) {
+            job.status = "FAILED";
+            job.error = e.getMessage();
+            log.warn("Import {} failed after {} questions: {}", job.id, job.questions.get(), e.getMessage());
+            throw new RuntimeException("Import failed: " + e.getMessage(), e);
+        } finally {
+            job.finishedAt = System.nanoTime();
+        }
+        return job.toDTO();
+    }
+
+    public List<ImportProgressDTO> getImports() {
+        return imports.values().stream()
+                .sorted((a, b) -> Long.compare(b.id, a.id))
+                .map(ImportJob::toDTO)
+                .toList();
+    }
+
+    public ImportProgressDTO getImport(Long id) {
+        ImportJob job = imports.get(id);
+        if (job == null) {
+            throw new RuntimeException("Import not found with id: " + id);
+        }
+        return job.toDTO();
+    }
+
+    private void importJson(InputStream in, String title, ImportJob job) throws IOException {
+        try (JsonParser parser = objectMapper.createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new RuntimeException("Expected a quiz object");
+            }
+            BatchWriter writer = new BatchWriter(insertQuiz(title), job);
+            // Quiz fields may come before or after the questions array
+            ObjectNode header = objectMapper.createObjectNode();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                if ("questions".equals(field) && parser.currentToken() == JsonToken.START_ARRAY) {
+                    int index = 0;
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        QuestionDTO question = parser.readValueAs(QuestionDTO.class);
+                        index++;
+                        if (question.getText() == null || question.getText().isBlank()) {
+                            throw new RuntimeException("Question " + index + ": text is required");
+                        }
+                        writer.add(question);
+                    }
+                } else {
+                    header.set(field, parser.readValueAsTree());
+                }
+            }
+            writer.flush();
+            updateQuiz(writer.quizId, objectMapper.treeToValue(header, QuizDTO.class), title);
+        }
+    }
+
+    private void importCsv(InputStream in, String title, ImportJob job) throws IOException {
+        try (CsvRecordReader csv = new CsvRecordReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            List<String> headerRow = csv.next();
+            if (headerRow == null) {
+                throw new RuntimeException("Empty CSV");
+            }
+            Map<String, Integer> columns = new HashMap<>();
+            for (int i = 0; i < headerRow.size(); i++) {
+                columns.put(headerRow.get(i).trim().toLowerCase(), i);
+            }
+            if (!columns.containsKey("question") || !columns.containsKey("answer")) {
+                throw new RuntimeException("CSV header must contain question and answer columns");
+            }
+
+            boolean numbered = columns.containsKey("question_no");
+
+            BatchWriter writer = new BatchWriter(insertQuiz(title), job);
+            QuestionDTO current = null;
+            String currentKey = null;
+            List<String> row;
+            // Record number as a spreadsheet shows it; the header is row 1
+            int rowNumber = 1;
+            while ((row = csv.next()) != null) {
+                rowNumber++;
+                if (row.size() == 1 && row.get(0).isBlank()) {
+                    continue;
+                }
+                String text = column(row, columns, "question");
+                if (text == null) {
+                    throw new RuntimeException("Row " + rowNumber + ": question is required");
+                }
+                String key = numbered ? column(row, columns, "question_no") : text;
+                if (key == null) {
+                    throw new RuntimeException("Row " + rowNumber + ": question_no is required");
+                }
+                if (current == null || !key.equals(currentKey)) {
+                    if (current != null) {
+                        writer.add(current);
+                    }
+                    currentKey = key;
+                    current = new QuestionDTO();
+                    current.setText(text);
+                    current.setPoints(integerColumn(row, columns, "points", rowNumber));
+                    current.setTimeLimit(integerColumn(row, columns, "time_limit", rowNumber));
+                    current.setMediaUrl(column(row, columns, "media_url"));
+                    current.setAnswers(new ArrayList<>());
+                }
+                String label = column(row, columns, "label");
+                String answer = column(row, columns, "answer");
+                if (answer == null) {
+                    if (label == null) {
+                        continue;
+                    }
+                    throw new RuntimeException("Row " + rowNumber + ": answer is required");
+                }
+                String correct = column(row, columns, "correct");
+                current.getAnswers().add(new AnswerDTO(null, label, answer,
+                        correct != null && (correct.equalsIgnoreCase("true") || correct.equals("1"))));
+            }
+            if (current != null) {
+                writer.add(current);
+            }
+            writer.flush();
+            updateQuiz(writer.quizId, new QuizDTO(), title);
+        }
+    }
+
+    private Long insertQuiz(String title) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        KeyHolder key = new GeneratedKeyHolder();
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(INSERT_QUIZ, new String[] { "id" });
+            ps.setString(1, title != null ? title : "Imported quiz");
+            ps.setTimestamp(2, now);
+            ps.setTimestamp(3, now);
+            return ps;
+        }, key);
+        return key.getKey().longValue();
+    }
+
+    private void updateQuiz(Long quizId, QuizDTO header, String title) {
+        String resolvedTitle = header.getTitle() != null ? header.getTitle()
+                : title != null ? title : "Imported quiz";
+        jdbcTemplate.update(UPDATE_QUIZ, resolvedTitle, header.getDescription(),
+                header.getTimePerQuestion() != null ? header.getTimePerQuestion() : 30,
+                header.getShuffleQuestions() != null ? header.getShuffleQuestions() : false,
+                header.getShuffleAnswers() != null ? header.getShuffleAnswers() : false,
+                header.getLiveScoreboard() != null ? header.getLiveScoreboard() : false,
+                quizId);
+    }
+
+    private static String column(List<String> row, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= row.size() || row.get(index).isBlank()) {
+            return null;
+        }
+        return row.get(index).trim();
+    }
+
+    private static Integer integerColumn(List<String> row, Map<String, Integer> columns, String name,
+            int rowNumber) {
+        String value = column(row, columns, name);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Row " + rowNumber + ": " + name + " must be a whole number, got '"
+                    + value + "'");
+        }
+    }
+
+    private void prune() {
+        imports.values().stream()
+                .filter(job -> job.finishedAt != 0)
+                .map(job -> job.id)
+                .sorted((a, b) -> Long.compare(b, a))
+                .skip(KEEP_FINISHED)
+                .forEach(imports::remove);
+    }
+
+    /**
+     * Buffers up to batchSize questions, then writes them in one batch and their
+     * answers in a second batch keyed by the generated question ids
+     */
+    private class BatchWriter {
+
+        private final Long quizId;
+        private final ImportJob job;
+        private final List<QuestionDTO> pending = new ArrayList<>(batchSize);
+        private int nextOrder;
+
+        BatchWriter(Long quizId, ImportJob job) {
+            this.quizId = quizId;
+            this.job = job;
+            job.quizId = quizId;
+        }
+
+        void add(QuestionDTO question) {
+            pending.add(question);
+            if (pending.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            int firstOrder = nextOrder;
+            KeyHolder keys = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(con -> con.prepareStatement(INSERT_QUESTION, new String[] { "id" }),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            QuestionDTO q = pending.get(i);
+                            ps.setLong(1, quizId);
+                            ps.setString(2, q.getText());
+                            ps.setInt(3, q.getPoints() != null ? q.getPoints() : 1);
+                            setNullableInt(ps, 4, q.getTimeLimit());
+                            ps.setString(5, q.getMediaUrl());
+                            ps.setInt(6, firstOrder + i);
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return pending.size();
+                        }
+                    }, keys);
+
+            List<Map<String, Object>> generated = keys.getKeyList();
+            List<Object[]> answers = new ArrayList<>();
+            for (int i = 0; i < pending.size(); i++) {
+                Long questionId = ((Number) firstValue(generated.get(i).values())).longValue();
+                List<AnswerDTO> questionAnswers = pending.get(i).getAnswers();
+                if (questionAnswers != null) {
+                    for (AnswerDTO a : questionAnswers) {
+                        answers.add(new Object[] { questionId, a.getLabel(), a.getText(),
+                                a.getIsCorrect() != null ? a.getIsCorrect() : false });
+                    }
+                }
+            }
+            if (!answers.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_ANSWER, answers);
+            }
+
+            nextOrder += pending.size();
+            job.questions.addAndGet(pending.size());
+            job.answers.addAndGet(answers.size());
+            pending.clear();
+            log.debug("Import {}: {} questions written", job.id, job.questions.get());
+        }
+    }
+
+    private static Object firstValue(Collection<Object> values) {
+        return values.iterator().next();
+    }
+
+    private static void setNullableInt(PreparedStatement ps, int index, Integer value) throws SQLException {
+        if (value != null) {
+            ps.setInt(index, value);
+        } else {
+            ps.setNull(index, Types.INTEGER);
+        }
+    }
+
+    private static class ImportJob {
+        final long id;
+        final String format;
+        final long totalBytes;
+        final long startedAt = System.nanoTime();
+        final AtomicLong bytesRead = new AtomicLong();
+        final AtomicInteger questions = new AtomicInteger();
+        final AtomicInteger answers = new AtomicInteger();
+        volatile Long quizId;
+        volatile String status = "RUNNING";
+        volatile String error;
+        volatile long finishedAt;
+
+        ImportJob(long id, String format, long totalBytes) {
+            this.id = id;
+            this.format = format;
+            this.totalBytes = totalBytes;
+        }
+
+        long elapsedMs() {
+            long end = finishedAt != 0 ? finishedAt : System.nanoTime();
+            return (end - startedAt) / 1_000_000;
+        }
+
+        ImportProgressDTO toDTO() {
+            return new ImportProgressDTO(id, format, status, quizId, questions.get(), answers.get(),
+                    bytesRead.get(), totalBytes, elapsedMs(), error);
+        }
+    }
+
+    /**
+     * Counts bytes for progress and fails the import on the first read past its deadline
+     */
+    private static class CountingInputStream extends FilterInputStream {
+        private final AtomicLong count;
+        private final long deadlineNanos;
+
+        CountingInputStream(InputStream in, AtomicLong count, long deadlineNanos) {
+            super(in);
+            this.count = count;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        @Override
+        public int read() throws IOException {
+            checkDeadline();
+            int b = super.read();
+            if (b != -1) {
+                count.incrementAndGet();
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            checkDeadline();
+            int n = super.read(buffer, offset, length);
+            if (n > 0) {
+                count.addAndGet(n);
+            }
+            return n;
+        }
+
+        private void checkDeadline() throws IOException {
+            if (System.nanoTime() - deadlineNanos > 0) {
+                throw new IOException("Upload took longer than the import timeout");
+            }
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.quiz.service;
+
+import com.quiz.config.SessionShardedExecutor;
+import com.quiz.live.JoinAdmission;
+import com.quiz.live.LiveSession;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Meters for the live quiz hot paths, exposed through Actuator (/actuator/metrics
+ * and /actuator/prometheus). Per-stage answer timers, join latency and batch size,
+ * inbound and outbound channel queue depth, live sessions and participant counts.
+ * Participant counts are aggregated over sessions (total, largest, mean) so the
+ * number of series does not grow with the number of sessions.
+ */
+@Component
+public class QuizMetrics {
+
+    public enum AnswerStage {
+        LOOKUP, SCORING, PERSIST, FEEDBACK, ADMIN_COUNT
+    }
+
+    public enum AnswerOutcome {
+        ACCEPTED, REJECTED, FAILED
+    }
+
+    private final LiveSessionRegistry liveSessionRegistry;
+    private final JoinAdmissionRegistry joinAdmissionRegistry;
+
+    private final Map<AnswerStage, Timer> answerStages = new EnumMap<>(AnswerStage.class);
+    private final Map<AnswerOutcome, Counter> answerOutcomes = new EnumMap<>(AnswerOutcome.class);
+    private final Timer joinAdmitted;
+    private final Timer joinRejected;
+    private final DistributionSummary joinBatch;
+
+    // Aggregated over all sessions on an interval rather than on every scrape
+    private volatile long totalParticipants;
+    private volatile long maxSessionParticipants;
+    private volatile double meanSessionParticipants;
+
+    public QuizMetrics(MeterRegistry meterRegistry,
+            LiveSessionRegistry liveSessionRegistry,
+            JoinAdmissionRegistry joinAdmissionRegistry,
+            ResponseWriter responseWriter,
+            @Qualifier("clientInboundChannelExecutor") TaskExecutor inboundExecutor,
+            @Qualifier("clientOutboundChannelExecutor") TaskExecutor outboundExecutor) {
+        this.liveSessionRegistry = liveSessionRegistry;
+        this.joinAdmissionRegistry = joinAdmissionRegistry;
+
+        for (AnswerStage stage : AnswerStage.values()) {
+            answerStages.put(stage, Timer.builder("quiz.answer.stage")
+                    .description("Time spent in each stage of answer processing")
+                    .tag("stage", stage.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+        for (AnswerOutcome outcome : AnswerOutcome.values()) {
+            answerOutcomes.put(outcome, Counter.builder("quiz.answers")
+                    .tag("outcome", outcome.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+
+        joinAdmitted = Timer.builder("quiz.join").tag("outcome", "admitted").register(meterRegistry);
+        joinRejected = Timer.builder("quiz.join").tag("outcome", "rejected").register(meterRegistry);
+        joinBatch = DistributionSummary.builder("quiz.join.batch")
+                .description("Participants inserted per batched join write")
+                .register(meterRegistry);
+
+        Gauge.builder("quiz.channel.queue.depth", inboundExecutor, QuizMetrics::queueDepth)
+                .description("Frames waiting for a channel worker")
+                .tag("channel", "inbound")
+                .register(meterRegistry);
+        Gauge.builder("quiz.channel.queue.depth", outboundExecutor, QuizMetrics::queueDepth)
+                .tag("channel", "outbound")
+                .register(meterRegistry);
+        Gauge.builder("quiz.responses.pending", responseWriter, ResponseWriter::getPendingCount)
+                .description("Scored answers waiting for write-behind")
+                .register(meterRegistry);
+        Gauge.builder("quiz.sessions.live", liveSessionRegistry, registry -> registry.getAll().size())
+                .description("Sessions loaded in memory")
+                .register(meterRegistry);
+        Gauge.builder("quiz.sessions.lobby", joinAdmissionRegistry,
+                        registry -> registry.getAll().stream().filter(JoinAdmission::isOpen).count())
+                .description("Sessions accepting joins")
+                .register(meterRegistry);
+        Gauge.builder("quiz.participants", this, metrics -> metrics.totalParticipants)
+                .description("Participants in lobby and live sessions")
+                .register(meterRegistry);
+        Gauge.builder("quiz.session.participants.max", this, metrics -> metrics.maxSessionParticipants)
+                .description("Participants in the largest lobby or live session")
+                .register(meterRegistry);
+        Gauge.builder("quiz.session.participants.mean", this, metrics -> metrics.meanSessionParticipants)
+                .description("Mean participants per lobby or live session")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Record a stage that started at {@code startNanos}; returns the current time
+     * so consecutive stages can be chained
+     */
+    public long answerStage(AnswerStage stage, long startNanos) {
+        long now = System.nanoTime();
+        answerStages.get(stage).record(now - startNanos, TimeUnit.NANOSECONDS);
+        return now;
+    }
+
+    public void answer(AnswerOutcome outcome) {
+        answerOutcomes.get(outcome).increment();
+    }
+
+    public void join(boolean admitted, long startNanos) {
+        (admitted ? joinAdmitted : joinRejected).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void joinBatch(int size) {
+        joinBatch.record(size);
+    }
+
+    @Scheduled(fixedDelayString = "${app.metrics.session-refresh-ms:5000}")
+    public void refreshSessionParticipants() {
+        long total = 0;
+        long max = 0;
+        int sessions = 0;
+        for (LiveSession live : liveSessionRegistry.getAll()) {
+            int count = live.getParticipants().size();
+            total += count;
+            max = Math.max(max, count);
+            sessions++;
+        }
+        for (JoinAdmission admission : joinAdmissionRegistry.getAll()) {
+            if (admission.isOpen()) {
+                int count = admission.getParticipantCount();
+                total += count;
+                max = Math.max(max, count);
+                sessions++;
+            }
+        }
+        totalParticipants = total;
+        maxSessionParticipants = max;
+        meanSessionParticipants = sessions > 0 ? (double) total / sessions : 0;
+    }
+
+    private static double queueDepth(TaskExecutor executor) {
+        if (executor instanceof SessionShardedExecutor sharded) {
+            int depth = 0;
+            for (int shard : sharded.getQueueDepths()) {
+                depth += shard;
+            }
+            return depth;
+        }
+        if (executor instanceof ThreadPoolTaskExecutor pool) {
+            return pool.getThreadPoolExecutor().getQueue().size();
+        }
+        return Double.NaN;
+    }
+}
@@ -1,14 +1,18 @@
 package com.quiz.service;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.quiz.dto.AnswerDTO;
 import com.quiz.dto.QuestionDTO;
 import com.quiz.dto.QuizDTO;
+import com.quiz.dto.QuizSummaryDTO;
 import com.quiz.model.Answer;
 import com.quiz.model.Question;
 import com.quiz.model.Quiz;
@@ -25,17 +29,37 @@ public class QuizService {
     private final QuizRepository quizRepository;
     private final QuestionRepository questionRepository;
     private final AnswerRepository answerRepository;
+    private final QuizCatalogCache quizCatalogCache;
 
+    /**
+     * Served from the catalog cache; quizzes whose version changed are
+     * reloaded together with one fetch-join query. A catalog larger than the
+     * cache would only cycle every entry through it, so then the reloaded
+     * quizzes are not cached and the entries hot for single-quiz reads stay.
+     */
+    @Transactional(readOnly = true)
     public List<QuizDTO> getAllQuizzes() {
-        return quizRepository.findAll().stream()
-                .map(this::toDTO)
-                .collect(Collectors.toList());
+        List<Quiz> quizzes = quizRepository.findAll();
+        return materialize(quizzes, quizzes.size() <= quizCatalogCache.getMaxEntries());
     }
 
+    /**
+     * One page of the catalog, newest first, without loading any entity.
+     * Pass the last id of the previous page as {@code before} to continue.
+     */
+    @Transactional(readOnly = true)
+    public List<QuizSummaryDTO> getQuizSummaries(Long before, int limit) {
+        PageRequest page = PageRequest.of(0, limit);
+        return before != null
+                ? quizRepository.findSummariesBefore(before, page)
+                : quizRepository.findSummaries(page);
+    }
+
+    @Transactional(readOnly = true)
     public QuizDTO getQuizById(Long id) {
         Quiz quiz = quizRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Quiz not found with id: " + id));
-        return toDTO(quiz);
+        return materialize(List.of(quiz), true).get(0);
     }
 
     @Transactional
@@ -47,6 +71,7 @@ public class QuizService {
         quiz.setShuffleQuestions(dto.getShuffleQuestions() != null ? dto.getShuffleQuestions() : false);
         quiz.setShuffleAnswers(dto.getShuffleAnswers() != null ? dto.getShuffleAnswers() : false);
         quiz.setLiveScoreboard(dto.getLiveScoreboard() != null ? dto.getLiveScoreboard() : false);
+        quiz.bumpVersion();
 
         Quiz savedQuiz = quizRepository.save(quiz);
 
@@ -71,14 +96,17 @@ public class QuizService {
         quiz.setShuffleQuestions(dto.getShuffleQuestions());
         quiz.setShuffleAnswers(dto.getShuffleAnswers());
         quiz.setLiveScoreboard(dto.getLiveScoreboard());
+        quiz.bumpVersion();
 
         quizRepository.save(quiz);
+        quizCatalogCache.evict(id);
         return toDTO(quiz);
     }
 
     @Transactional
     public void deleteQuiz(Long id) {
         quizRepository.deleteById(id);
+        quizCatalogCache.evict(id);
     }
 
     @Transactional
@@ -87,7 +115,9 @@ public class QuizService {
                 .orElseThrow(() -> new RuntimeException("Quiz not found with id: " + quizId));
 
         int order = quiz.getQuestions().size();
+        quiz.bumpVersion();
         Question question = addQuestionToQuiz(quiz, dto, order);
+        quizCatalogCache.evict(quizId);
         return toQuestionDTO(question);
     }
 
@@ -114,15 +144,50 @@ public class QuizService {
             }
         }
 
+        question.getQuiz().bumpVersion();
         questionRepository.save(question);
+        quizCatalogCache.evict(question.getQuiz().getId());
         return toQuestionDTO(question);
     }
 
     @Transactional
     public void deleteQuestion(Long questionId) {
+        questionRepository.findById(questionId).ifPresent(question -> {
+            question.getQuiz().bumpVersion();
+            quizCatalogCache.evict(question.getQuiz().getId());
+        });
         questionRepository.deleteById(questionId);
     }
 
+    private List<QuizDTO> materialize(List<Quiz> quizzes, boolean cacheReloaded) {
+        List<QuizDTO> result = new ArrayList<>(quizzes.size());
+        List<Long> missing = new ArrayList<>();
+        for (Quiz quiz : quizzes) {
+            QuizDTO cached = quizCatalogCache.get(quiz.getId(), quiz.getCurrentVersion());
+            result.add(cached);
+            if (cached == null) {
+                missing.add(quiz.getId());
+            }
+        }
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        Map<Long, List<Question>> questionsByQuiz = questionRepository.findWithAnswersByQuizIdIn(missing).stream()
+                .collect(Collectors.groupingBy(q -> q.getQuiz().getId()));
+        for (int i = 0; i < quizzes.size(); i++) {
+            if (result.get(i) == null) {
+                Quiz quiz = quizzes.get(i);
+                QuizDTO dto = toDTO(quiz, questionsByQuiz.getOrDefault(quiz.getId(), List.of()));
+                if (cacheReloaded) {
+                    quizCatalogCache.put(quiz.getId(), quiz.getCurrentVersion(), dto);
+                }
+                result.set(i, dto);
+            }
+        }
+        return result;
+    }
+
     private Question addQuestionToQuiz(Quiz quiz, QuestionDTO dto, int order) {
         Question question = new Question();
         question.setText(dto.getText());
@@ -148,7 +213,11 @@ public class QuizService {
         return questionRepository.findById(savedQuestion.getId()).get();
     }
 
-    public QuizDTO toDTO(Quiz quiz) {
+    public static QuizDTO toDTO(Quiz quiz) {
+        return toDTO(quiz, quiz.getQuestions());
+    }
+
+    private static QuizDTO toDTO(Quiz quiz, List<Question> questions) {
         QuizDTO dto = new QuizDTO();
         dto.setId(quiz.getId());
         dto.setTitle(quiz.getTitle());
@@ -157,13 +226,13 @@ public class QuizService {
         dto.setShuffleQuestions(quiz.getShuffleQuestions());
         dto.setShuffleAnswers(quiz.getShuffleAnswers());
         dto.setLiveScoreboard(quiz.getLiveScoreboard());
-        dto.setQuestions(quiz.getQuestions().stream()
-                .map(this::toQuestionDTO)
+        dto.setQuestions(questions.stream()
+                .map(QuizService::toQuestionDTO)
                 .collect(Collectors.toList()));
         return dto;
     }
 
-    public QuestionDTO toQuestionDTO(Question question) {
+    public static QuestionDTO toQuestionDTO(Question question) {
         QuestionDTO dto = new QuestionDTO();
         dto.setId(question.getId());
         dto.setText(question.getText());
@@ -172,12 +241,12 @@ public class QuizService {
         dto.setMediaUrl(question.getMediaUrl());
         dto.setQuestionOrder(question.getQuestionOrder());
         dto.setAnswers(question.getAnswers().stream()
-                .map(this::toAnswerDTO)
+                .map(QuizService::toAnswerDTO)
                 .collect(Collectors.toList()));
         return dto;
     }
 
-    public AnswerDTO toAnswerDTO(Answer answer) {
+    public static AnswerDTO toAnswerDTO(Answer answer) {
         AnswerDTO dto = new AnswerDTO();
         dto.setId(answer.getId());
         dto.setLabel(answer.getLabel());
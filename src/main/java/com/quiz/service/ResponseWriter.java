@@ -0,0 +1,250 @@
+package com.quiz.service;
+
+import com.quiz.live.ScoredResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind persistence for scored answers.
+ * Responses are queued in memory and written in JDBC batches, either on a short
+ * interval or as soon as a full batch is waiting. Participant totals are coalesced
+ * so each participant gets at most one UPDATE per flush.
+ *
+ * Responses that fail to write are never dropped: they are kept and retried with
+ * backoff, and the queue stops being drained until they are written, so memory
+ * stays bounded by the queue and producers are throttled while the database is down.
+ */
+@Service
+@Slf4j
+public class ResponseWriter {
+
+    private static final String INSERT_RESPONSE = "INSERT INTO participant_responses "
+            + "(participant_id, question_id, answer_id, response_time_ms, points_earned, is_correct) "
+            + "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_TOTALS = "UPDATE participants "
+            + "SET total_score = ?, total_response_time = ? WHERE id = ?";
+
+    private static final long INITIAL_BACKOFF_MS = 200;
+    private static final long MAX_BACKOFF_MS = 5000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate writeTransaction;
+    private final BlockingQueue<ScoredResponse> queue;
+    private final int batchSize;
+    private final ExecutorService batchFlusher = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "response-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean batchFlushPending = new AtomicBoolean();
+    private final Timer batchWritten;
+    private final Timer batchFailed;
+
+    private final ReentrantLock flushLock = new ReentrantLock();
+    // Guarded by flushLock
+    private final List<ScoredResponse> retry = new ArrayList<>();
+    private int failedFlushes;
+    // Written under flushLock, read without it so the metrics gauge never waits on a flush
+    private volatile int retrySize;
+    private volatile long retryNotBefore = System.nanoTime();
+
+    public ResponseWriter(JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.responses.queue-capacity:50000}") int queueCapacity,
+            @Value("${app.responses.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        // Registered here rather than in QuizMetrics, which depends on this writer
+        this.batchWritten = Timer.builder("quiz.responses.write")
+                .description("Write-behind batch of answers and participant totals, insert to commit")
+                .tag("outcome", "written")
+                .register(meterRegistry);
+        this.batchFailed = Timer.builder("quiz.responses.write")
+                .tag("outcome", "failed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queue a scored response. When the queue is full the caller flushes it
+     * itself, which throttles producers to the speed of the database.
+     */
+    public void enqueue(ScoredResponse response) {
+        while (!queue.offer(response)) {
+            log.warn("Response queue full, flushing on caller thread");
+            try {
+                flush();
+            } catch (RuntimeException e) {
+                // Database still failing: wait for the next retry instead of spinning
+                LockSupport.parkNanos(Math.max(0L, retryNotBefore - System.nanoTime()));
+            }
+        }
+        if (queue.size() >= batchSize && batchFlushPending.compareAndSet(false, true)) {
+            batchFlusher.execute(() -> {
+                batchFlushPending.set(false);
+                flushQuietly();
+            });
+        }
+    }
+
+    /**
+     * Time left before failed writes are retried, 0 when not backing off
+     */
+    public long getRetryDelayMs() {
+        return Math.max(0L, TimeUnit.NANOSECONDS.toMillis(retryNotBefore - System.nanoTime()));
+    }
+
+    public int getPendingCount() {
+        return queue.size() + retrySize;
+    }
+
+    @Scheduled(fixedDelayString = "${app.responses.flush-interval-ms:200}")
+    public void scheduledFlush() {
+        if (System.nanoTime() - retryNotBefore >= 0) {
+            flushQuietly();
+        }
+    }
+
+    /**
+     * Write everything queued so far. Called on the flush interval and at the
+     * end of each question and session so the database is complete at those points.
+     * Throws if anything is left unwritten; it stays queued and is retried.
+     */
+    public void flush() {
+        flushLock.lock();
+        try {
+            if (!retry.isEmpty()) {
+                List<ScoredResponse> failed = new ArrayList<>(retry);
+                retry.clear();
+                retrySize = 0;
+                write(failed);
+            }
+            List<ScoredResponse> pending = new ArrayList<>();
+            queue.drainTo(pending);
+            write(pending);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        batchFlusher.shutdown();
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("Shutting down with {} responses not written: {}", retrySize, e.getMessage(), e);
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            // Logged by write(); the responses stay queued for the next attempt
+        }
+    }
+
+    private void write(List<ScoredResponse> pending) {
+        for (int from = 0; from < pending.size(); from += batchSize) {
+            List<ScoredResponse> batch = pending.subList(from, Math.min(from + batchSize, pending.size()));
+            long start = System.nanoTime();
+            try {
+                writeTransaction.executeWithoutResult(status -> writeBatch(batch));
+                batchWritten.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            } catch (RuntimeException e) {
+                batchFailed.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                handleFailure(pending.subList(from, pending.size()), e);
+                // Recoverable: callers such as the autopilot retry once the backoff has passed
+                throw new RecoverableDataAccessException("Could not save " + retry.size()
+                        + " answers, they will be retried: " + e.getMessage(), e);
+            }
+        }
+        if (!pending.isEmpty() && failedFlushes > 0) {
+            log.info("Response writes recovered after {} failed flushes", failedFlushes);
+            failedFlushes = 0;
+        }
+    }
+
+    private void writeBatch(List<ScoredResponse> batch) {
+        try {
+            jdbcTemplate.batchUpdate(INSERT_RESPONSE, batch, batch.size(), this::setResponse);
+        } catch (DuplicateKeyException e) {
+            // Only possible if the in-memory dedupe was bypassed (e.g. a reload race);
+            // keep the rest of the batch and drop the duplicates
+            insertSkippingDuplicates(batch);
+        }
+
+        // Only the latest totals of each participant matter
+        Map<Long, ScoredResponse> latest = new LinkedHashMap<>();
+        for (ScoredResponse r : batch) {
+            latest.put(r.getParticipantId(), r);
+        }
+        List<ScoredResponse> totals = new ArrayList<>(latest.values());
+        jdbcTemplate.batchUpdate(UPDATE_TOTALS, totals, totals.size(), (ps, r) -> {
+            ps.setInt(1, r.getTotalScore());
+            ps.setLong(2, r.getTotalResponseTime());
+            ps.setLong(3, r.getParticipantId());
+        });
+    }
+
+    private void insertSkippingDuplicates(List<ScoredResponse> batch) {
+        for (ScoredResponse r : batch) {
+            try {
+                jdbcTemplate.update(INSERT_RESPONSE, ps -> setResponse(ps, r));
+            } catch (DuplicateKeyException e) {
+                log.warn("Dropping duplicate response of participant {} to question {}",
+                        r.getParticipantId(), r.getQuestionId());
+            }
+        }
+    }
+
+    private void setResponse(PreparedStatement ps, ScoredResponse r) throws SQLException {
+        ps.setLong(1, r.getParticipantId());
+        ps.setLong(2, r.getQuestionId());
+        ps.setLong(3, r.getAnswerId());
+        ps.setLong(4, r.getResponseTimeMs());
+        ps.setInt(5, r.getPointsEarned());
+        ps.setBoolean(6, r.isCorrect());
+    }
+
+    private void handleFailure(List<ScoredResponse> unwritten, RuntimeException e) {
+        retry.addAll(unwritten);
+        retrySize = retry.size();
+        failedFlushes++;
+        long backoffMs = Math.min(MAX_BACKOFF_MS, INITIAL_BACKOFF_MS << Math.min(failedFlushes - 1, 5));
+        retryNotBefore = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(backoffMs);
+        log.warn("Flush of {} responses failed (attempt {}), retrying in {} ms: {}",
+                retry.size(), failedFlushes, backoffMs, e.getMessage());
+    }
+}
@@ -0,0 +1,82 @@
+package com.quiz.service;
+
+import com.quiz.live.Leaderboard;
+import com.quiz.live.LiveParticipant;
+import com.quiz.live.LiveSession;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Live scoreboard for quizzes with liveScoreboard enabled.
+ * Each tick sends at most one SCOREBOARD_UPDATE per session, and only if
+ * scores changed since the last one, so broker traffic is bounded by the tick
+ * rate rather than the answer rate. The session topic only gets the top N;
+ * every other participant gets a compact RANK_UPDATE on their own routing key,
+ * and only when their rank or score moved.
+ */
+@Service
+@Slf4j
+public class ScoreboardPublisher {
+
+    private final LiveSessionRegistry liveSessionRegistry;
+    private final SessionEventPublisher eventPublisher;
+    private final int topSize;
+
+    public ScoreboardPublisher(LiveSessionRegistry liveSessionRegistry,
+            SessionEventPublisher eventPublisher,
+            @Value("${app.scoreboard.top-size:10}") int topSize) {
+        this.liveSessionRegistry = liveSessionRegistry;
+        this.eventPublisher = eventPublisher;
+        this.topSize = topSize;
+    }
+
+    @Scheduled(fixedDelayString = "${app.scoreboard.tick-ms:500}")
+    public void tick() {
+        for (LiveSession live : liveSessionRegistry.getAll()) {
+            if (!live.isLiveScoreboard()) {
+                continue;
+            }
+            try {
+                long version = live.getLeaderboard().getVersion();
+                if (live.markScoreboardPublished(version)) {
+                    eventPublisher.scoreboardUpdated(live.getCode(), SessionService.toScoreboard(live, topSize));
+                    publishRankChanges(live);
+                }
+            } catch (Exception e) {
+                log.error("Error publishing scoreboard for session {}: {}", live.getCode(), e.getMessage(), e);
+            }
+        }
+    }
+
+    private void publishRankChanges(LiveSession live) {
+        List<Leaderboard.Entry> entries = live.getLeaderboard().snapshot();
+        int total = entries.size();
+
+        for (int i = 0; i < total; i++) {
+            Leaderboard.Entry entry = entries.get(i);
+            LiveParticipant participant = live.getParticipant(entry.getParticipantId());
+            if (participant == null || !participant.markRankPublished(i + 1, entry.getScore())) {
+                continue;
+            }
+
+            eventPublisher.rankUpdated(live.getCode(), entry.getParticipantId(), i + 1, entry.getScore(), total,
+                    i > 0 ? toNeighbour(live, entries.get(i - 1)) : null,
+                    i + 1 < total ? toNeighbour(live, entries.get(i + 1)) : null);
+        }
+    }
+
+    private Map<String, Object> toNeighbour(LiveSession live, Leaderboard.Entry entry) {
+        LiveParticipant participant = live.getParticipant(entry.getParticipantId());
+        Map<String, Object> neighbour = new HashMap<>();
+        neighbour.put("firstName", participant != null ? participant.getFirstName() : null);
+        neighbour.put("lastName", participant != null ? participant.getLastName() : null);
+        neighbour.put("totalScore", entry.getScore());
+        return neighbour;
+    }
+}
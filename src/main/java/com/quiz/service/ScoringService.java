@@ -1,7 +1,10 @@
 package com.quiz.service;
 
+import com.quiz.live.LiveParticipant;
+import com.quiz.live.LiveQuestion;
+import com.quiz.live.LiveSession;
+import com.quiz.live.ScoredResponse;
 import com.quiz.model.*;
-import com.quiz.repository.*;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -11,15 +14,15 @@ public class ScoringService {
 
     private static final int MAX_TIME_BONUS = 5;
 
-    private final ResponseRepository responseRepository;
-    private final ParticipantRepository participantRepository;
+    private final ResponseWriter responseWriter;
+    private final QuizMetrics metrics;
 
     /**
      * Calculate score for an answer
      * Points = basePoints + timeBonus (if correct)
      * timeBonus = (remainingTime / totalTime) * MAX_TIME_BONUS
      */
-    public int calculateScore(Question question, Answer answer, long responseTimeMs) {
+    public static int calculateScore(Question question, Answer answer, long responseTimeMs) {
         if (!answer.getIsCorrect()) {
             return 0;
         }
@@ -36,34 +39,33 @@ public class ScoringService {
     }
 
     /**
-     * Record a participant's response and update their score
+     * Score a participant's response, update their in-memory totals and queue it
+     * for write-behind persistence. The caller must have claimed the question with
+     * LiveQuestion.markAnswered.
      */
-    public ParticipantResponse recordResponse(Participant participant, Question question,
-            Answer answer, long responseTimeMs) {
-        // Check if already answered
-        if (responseRepository.existsByParticipantIdAndQuestionId(participant.getId(), question.getId())) {
-            throw new RuntimeException("Already answered this question");
-        }
-
-        int points = calculateScore(question, answer, responseTimeMs);
+    public ScoredResponse recordResponse(LiveSession session, LiveParticipant participant,
+            LiveQuestion question, Answer answer, long responseTimeMs) {
+        long stageStart = System.nanoTime();
+        int points = calculateScore(question.getQuestion(), answer, responseTimeMs);
 
-        ParticipantResponse response = new ParticipantResponse();
-        response.setParticipant(participant);
-        response.setQuestion(question);
-        response.setAnswer(answer);
-        response.setResponseTimeMs(responseTimeMs);
-        response.setPointsEarned(points);
-        response.setIsCorrect(answer.getIsCorrect());
+        ScoredResponse response;
+        synchronized (participant) {
+            participant.addScore(points, answer.getIsCorrect(), responseTimeMs);
+            response = new ScoredResponse(participant.getId(), question.getId(), answer.getId(),
+                    responseTimeMs, points, answer.getIsCorrect(),
+                    participant.getTotalScore(), participant.getTotalResponseTime());
+            session.getLeaderboard().update(participant.getId(),
+                    response.getTotalScore(), response.getTotalResponseTime());
+        }
 
-        responseRepository.save(response);
+        stageStart = metrics.answerStage(QuizMetrics.AnswerStage.SCORING, stageStart);
 
-        // Update participant's total score and time
-        participant.setTotalScore(participant.getTotalScore() + points);
-        if (answer.getIsCorrect()) {
-            participant.setTotalResponseTime(participant.getTotalResponseTime() + responseTimeMs);
-        }
-        participantRepository.save(participant);
+        question.incrementResponseCount();
+        question.recordAnswer(answer.getId());
+        stageStart = metrics.answerStage(QuizMetrics.AnswerStage.ADMIN_COUNT, stageStart);
 
+        responseWriter.enqueue(response);
+        metrics.answerStage(QuizMetrics.AnswerStage.PERSIST, stageStart);
         return response;
     }
 }
@@ -0,0 +1,129 @@
+package com.quiz.service;
+
+import com.quiz.model.CodeSequence;
+import com.quiz.repository.CodeSequenceRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hands out session codes by walking a keyed permutation of the 36^6 code space.
+ * Positions are reserved from the code_sequences table in blocks, so every instance
+ * gets disjoint positions and codes are unique by construction, without checking
+ * game_sessions. A small pool of ready codes is topped up in the background.
+ * The key must stay the same across restarts and instances.
+ */
+@Service
+@Slf4j
+public class SessionCodeAllocator {
+
+    private static final String SEQUENCE = "session_code";
+    private static final String DEVELOPMENT_KEY = "quiz-session-codes-development-key";
+
+    private final CodeSequenceRepository sequenceRepository;
+    private final TransactionTemplate reserveTransaction;
+    private final CodePermutation permutation;
+    private final BlockingQueue<String> pool;
+    private final int poolSize;
+    private final ExecutorService refiller = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "session-code-refill");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean refillPending = new AtomicBoolean();
+    private final ReentrantLock refillLock = new ReentrantLock();
+
+    public SessionCodeAllocator(CodeSequenceRepository sequenceRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.session-codes.key:}") String key,
+            @Value("${app.session-codes.pool-size:64}") int poolSize) {
+        this.sequenceRepository = sequenceRepository;
+        this.reserveTransaction = new TransactionTemplate(transactionManager);
+        this.reserveTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        if (key == null || key.isBlank()) {
+            log.warn("app.session-codes.key is not set; session codes are predictable to anyone with the source");
+            key = DEVELOPMENT_KEY;
+        }
+        this.permutation = new CodePermutation(key);
+        this.pool = new ArrayBlockingQueue<>(poolSize);
+        this.poolSize = poolSize;
+    }
+
+    public String next() {
+        String code = pool.poll();
+        while (code == null) {
+            // Empty pool (first use or a burst): refill on the caller thread
+            refill();
+            code = pool.poll();
+        }
+        if (pool.size() < poolSize / 2 && refillPending.compareAndSet(false, true)) {
+            refiller.execute(() -> {
+                try {
+                    refill();
+                } catch (RuntimeException e) {
+                    log.warn("Background session code refill failed: {}", e.getMessage());
+                } finally {
+                    refillPending.set(false);
+                }
+            });
+        }
+        return code;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refiller.shutdownNow();
+    }
+
+    private void refill() {
+        // Not synchronized: reserve() runs a transaction and would pin a virtual thread
+        refillLock.lock();
+        try {
+            int missing = poolSize - pool.size();
+            if (missing <= poolSize / 2) {
+                return;
+            }
+            long start = reserve(missing);
+            for (long index = start; index < start + missing; index++) {
+                pool.add(permutation.code(index));
+            }
+        } finally {
+            refillLock.unlock();
+        }
+    }
+
+    /**
+     * Claim {@code count} consecutive permutation positions, returning the first
+     */
+    private long reserve(int count) {
+        try {
+            return reserveTransaction.execute(status -> reserveLocked(count));
+        } catch (DataIntegrityViolationException e) {
+            // Another instance created the sequence row first; it exists now
+            return reserveTransaction.execute(status -> reserveLocked(count));
+        }
+    }
+
+    private long reserveLocked(int count) {
+        CodeSequence sequence = sequenceRepository.findForUpdate(SEQUENCE)
+                .orElseGet(() -> sequenceRepository.saveAndFlush(new CodeSequence(SEQUENCE, 0L)));
+        long start = sequence.getNextValue();
+        if (start + count > CodePermutation.SIZE) {
+            throw new RuntimeException("Session code space exhausted");
+        }
+        sequence.setNextValue(start + count);
+        return start;
+    }
+}
@@ -0,0 +1,105 @@
+package com.quiz.service;
+
+import com.quiz.dto.*;
+import com.quiz.live.LiveQuestion;
+import com.quiz.live.LiveSession;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Service;
+import org.springframework.util.MimeTypeUtils;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Builds and sends the session lifecycle messages shared by the REST
+ * endpoints and the autopilot.
+ */
+@Service
+@RequiredArgsConstructor
+public class SessionEventPublisher {
+
+    private static final String SESSION_EXCHANGE = "/exchange/amq.topic/session.";
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final LiveSessionRegistry liveSessionRegistry;
+
+    public void sessionStarted(SessionDTO session) {
+        Map<String, Object> message = new HashMap<>();
+        message.put("type", "SESSION_STARTED");
+        message.put("status", session.getStatus());
+        messagingTemplate.convertAndSend(SESSION_EXCHANGE + session.getCode(), message);
+    }
+
+    /**
+     * Sends the NEW_QUESTION message prepared when the session was loaded
+     */
+    public void questionShown(Long sessionId, int index) {
+        LiveSession live = liveSessionRegistry.get(sessionId);
+        LiveQuestion question = live.getQuestionAt(index);
+
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        headers.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        headers.setLeaveMutable(true);
+        messagingTemplate.send(SESSION_EXCHANGE + live.getCode(),
+                MessageBuilder.createMessage(question.getNewQuestionPayload(), headers.getMessageHeaders()));
+    }
+
+    public void questionEnded(SessionDTO session) {
+        Map<String, Object> message = new HashMap<>();
+        message.put("type", "QUESTION_ENDED");
+        message.put("status", session.getStatus());
+        // Final poll result of the question that just closed
+        liveSessionRegistry.find(session.getId()).ifPresent(live -> {
+            int index = live.getCurrentQuestionIndex();
+            if (index >= 0 && index < live.getQuestions().size()) {
+                LiveQuestion question = live.getQuestions().get(index);
+                message.put("questionId", question.getId());
+                message.put("distribution", question.getAnswerDistribution());
+            }
+        });
+        messagingTemplate.convertAndSend(SESSION_EXCHANGE + session.getCode(), message);
+    }
+
+    public void scoreboardUpdated(String sessionCode, ScoreboardDTO scoreboard) {
+        Map<String, Object> message = new HashMap<>();
+        message.put("type", "SCOREBOARD_UPDATE");
+        message.put("scoreboard", scoreboard);
+        messagingTemplate.convertAndSend(SESSION_EXCHANGE + sessionCode, message);
+    }
+
+    /**
+     * Compact personal update sent only to a participant whose rank or score changed
+     */
+    public void rankUpdated(String sessionCode, Long participantId, int rank, int totalScore,
+            int totalParticipants, Map<String, Object> above, Map<String, Object> below) {
+        Map<String, Object> message = new HashMap<>();
+        message.put("type", "RANK_UPDATE");
+        message.put("rank", rank);
+        message.put("totalScore", totalScore);
+        message.put("totalParticipants", totalParticipants);
+        message.put("above", above);
+        message.put("below", below);
+        messagingTemplate.convertAndSend(SESSION_EXCHANGE + sessionCode + ".participant." + participantId, message);
+    }
+
+    /**
+     * Tells the host that nothing drives the session any more
+     */
+    public void autopilotStopped(String sessionCode, String reason) {
+        Map<String, Object> message = new HashMap<>();
+        message.put("type", "AUTOPILOT_STOPPED");
+        message.put("reason", reason);
+        messagingTemplate.convertAndSend(SESSION_EXCHANGE + sessionCode + ".admin", message);
+    }
+
+    public void sessionEnded(SessionDTO session, ScoreboardDTO scoreboard) {
+        Map<String, Object> message = new HashMap<>();
+        message.put("type", "SESSION_ENDED");
+        message.put("scoreboard", scoreboard);
+        messagingTemplate.convertAndSend(SESSION_EXCHANGE + session.getCode(), message);
+    }
+}
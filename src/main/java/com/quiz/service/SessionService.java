@@ -1,17 +1,25 @@
 package com.quiz.service;
 
 import com.quiz.dto.*;
+import com.quiz.live.JoinAdmission;
+import com.quiz.live.Leaderboard;
+import com.quiz.live.LiveParticipant;
+import com.quiz.live.LiveQuestion;
+import com.quiz.live.LiveSession;
 import com.quiz.model.*;
 import com.quiz.repository.*;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.security.SecureRandom;
 import java.time.LocalDateTime;
-import java.util.Collections;
+import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Optional;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -20,25 +28,41 @@ public class SessionService {
     private final SessionRepository sessionRepository;
     private final QuizRepository quizRepository;
     private final ParticipantRepository participantRepository;
-    private final QuestionRepository questionRepository;
+    private final LiveSessionRegistry liveSessionRegistry;
+    private final ResponseWriter responseWriter;
+    private final SessionCodeAllocator sessionCodeAllocator;
+    private final JoinAdmissionRegistry joinAdmissionRegistry;
+    private final ParticipantWriter participantWriter;
+    private final QuizMetrics metrics;
+    private final TransactionTemplate transactionTemplate;
 
-    private static final String CODE_CHARACTERS = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
-    private static final int CODE_LENGTH = 6;
-    private final SecureRandom random = new SecureRandom();
+    private static final Set<GameSession.SessionStatus> ACTIVE_STATUSES = EnumSet.complementOf(
+            EnumSet.of(GameSession.SessionStatus.FINISHED));
+
+    // Only codes issued before the allocator existed can still collide
+    private static final int MAX_CODE_ATTEMPTS = 3;
 
     public SessionDTO createSession(Long quizId) {
         Quiz quiz = quizRepository.findById(quizId)
                 .orElseThrow(() -> new RuntimeException("Quiz not found with id: " + quizId));
 
-        GameSession session = new GameSession();
-        session.setCode(generateUniqueCode());
-        session.setQuiz(quiz);
-        session.setStatus(GameSession.SessionStatus.WAITING);
-        session.setCurrentQuestionIndex(-1);
-        session.setCreatedAt(LocalDateTime.now());
-
-        GameSession saved = sessionRepository.save(session);
-        return toDTO(saved);
+        for (int attempt = 1; ; attempt++) {
+            GameSession session = new GameSession();
+            session.setCode(sessionCodeAllocator.next());
+            session.setQuiz(quiz);
+            session.setStatus(GameSession.SessionStatus.WAITING);
+            session.setCurrentQuestionIndex(-1);
+            session.setCreatedAt(LocalDateTime.now());
+
+            try {
+                GameSession saved = sessionRepository.save(session);
+                return toDTO(saved);
+            } catch (DataIntegrityViolationException e) {
+                if (attempt >= MAX_CODE_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
     }
 
     public SessionDTO getSessionByCode(String code) {
@@ -54,59 +78,74 @@ public class SessionService {
     }
 
     public List<SessionDTO> getActiveSessions() {
-        return sessionRepository.findAll().stream()
-                .filter(s -> s.getStatus() != GameSession.SessionStatus.FINISHED)
-                .map(this::toDTO)
-                .collect(Collectors.toList());
+        return sessionRepository.findSummariesByStatusIn(ACTIVE_STATUSES);
     }
 
-    @Transactional
+    /**
+     * Admit the participant against the in-memory admission of the session, then
+     * wait for the batched insert to assign its id
+     */
     public ParticipantDTO joinSession(JoinSessionRequest request) {
-        GameSession session = sessionRepository.findByCode(request.getSessionCode().toUpperCase())
-                .orElseThrow(() -> new RuntimeException("Session not found"));
-
-        if (!session.getOpenRegistration()) {
-            throw new RuntimeException("Registration is closed for this session");
-        }
-
-        if (session.getStatus() == GameSession.SessionStatus.FINISHED) {
-            throw new RuntimeException("Session has already ended");
-        }
-
-        // Check max participants
-        if (session.getMaxParticipants() != null &&
-                session.getParticipants().size() >= session.getMaxParticipants()) {
-            throw new RuntimeException("Session is full");
-        }
-
-        // Check for duplicate name
-        boolean exists = participantRepository.existsBySessionIdAndFirstNameAndLastName(
-                session.getId(), request.getFirstName(), request.getLastName());
-        if (exists) {
-            throw new RuntimeException("A participant with this name already exists");
+        long start = System.nanoTime();
+        boolean admitted = false;
+        try {
+            JoinAdmission admission = joinAdmissionRegistry.get(request.getSessionCode());
+            String firstName = request.getFirstName().trim();
+            String lastName = request.getLastName().trim();
+            admission.admit(firstName, lastName);
+            try {
+                ParticipantDTO joined = persistJoin(admission, firstName, lastName);
+                admitted = true;
+                return joined;
+            } finally {
+                admission.settled();
+            }
+        } finally {
+            metrics.join(admitted, start);
         }
+    }
 
+    private ParticipantDTO persistJoin(JoinAdmission admission, String firstName, String lastName) {
         Participant participant = new Participant();
-        participant.setFirstName(request.getFirstName().trim());
-        participant.setLastName(request.getLastName().trim());
-        participant.setSession(session);
+        participant.setId(participantWriter.insert(admission, firstName, lastName));
+        participant.setFirstName(firstName);
+        participant.setLastName(lastName);
         participant.setTotalScore(0);
         participant.setTotalResponseTime(0L);
         participant.setIsConnected(true);
 
-        Participant saved = participantRepository.save(participant);
-        return toParticipantDTO(saved, 0);
+        // Normally already in the live session; covers a start whose settle wait timed out
+        liveSessionRegistry.find(admission.getSessionId())
+                .ifPresent(live -> live.addParticipant(new LiveParticipant(participant)));
+        ParticipantDTO joined = toParticipantDTO(participant, 0);
+        admission.joined(joined);
+        return joined;
     }
 
-    @Transactional
+    /**
+     * Closes registration and waits for in-flight joins to settle before the
+     * transaction opens, so no connection is held while waiting
+     */
     public SessionDTO startSession(Long sessionId) {
-        GameSession session = sessionRepository.findById(sessionId)
-                .orElseThrow(() -> new RuntimeException("Session not found"));
-
-        session.setStatus(GameSession.SessionStatus.IN_PROGRESS);
-        session.setOpenRegistration(false);
-
-        return toDTO(sessionRepository.save(session));
+        // Before the first read: the transaction's snapshot must include every admitted join
+        joinAdmissionRegistry.close(sessionId);
+        try {
+            return transactionTemplate.execute(status -> {
+                GameSession session = sessionRepository.findById(sessionId)
+                        .orElseThrow(() -> new RuntimeException("Session not found"));
+
+                session.setStatus(GameSession.SessionStatus.IN_PROGRESS);
+                session.setOpenRegistration(false);
+
+                GameSession saved = sessionRepository.save(session);
+                liveSessionRegistry.load(saved);
+                return toDTO(saved);
+            });
+        } catch (RuntimeException e) {
+            // The start rolls back; the next join reloads registration from the database
+            joinAdmissionRegistry.reopen(sessionId);
+            throw e;
+        }
     }
 
     @Transactional
@@ -114,56 +153,81 @@ public class SessionService {
         GameSession session = sessionRepository.findById(sessionId)
                 .orElseThrow(() -> new RuntimeException("Session not found"));
 
-        List<Question> questions = questionRepository.findByQuizIdOrderByQuestionOrderAsc(
-                session.getQuiz().getId());
-
-        if (session.getQuiz().getShuffleQuestions() && session.getCurrentQuestionIndex() == -1) {
-            // Shuffle on first question
-            Collections.shuffle(questions);
-        }
-
-        if (questionIndex < 0 || questionIndex >= questions.size()) {
-            throw new RuntimeException("Invalid question index");
-        }
+        LiveSession live = liveSessionRegistry.get(sessionId);
+        LiveQuestion question = live.getQuestionAt(questionIndex);
 
         session.setCurrentQuestionIndex(questionIndex);
         session.setStatus(GameSession.SessionStatus.QUESTION_ACTIVE);
         session.setQuestionStartTime(LocalDateTime.now());
         sessionRepository.save(session);
+        live.openQuestion(question, System.nanoTime());
 
-        Question question = questions.get(questionIndex);
-        return toQuestionDTOForParticipant(question, session.getQuiz().getShuffleAnswers());
+        return question.getParticipantView();
     }
 
-    @Transactional
+    /**
+     * Stops taking answers and writes the accepted ones before the status changes.
+     * Throws while answers are still unwritten, leaving the status as it was.
+     * Not transactional: no connection is held while waiting for the response writer.
+     */
     public SessionDTO endQuestion(Long sessionId) {
-        GameSession session = sessionRepository.findById(sessionId)
-                .orElseThrow(() -> new RuntimeException("Session not found"));
-
-        session.setStatus(GameSession.SessionStatus.SHOWING_RESULTS);
-        return toDTO(sessionRepository.save(session));
+        liveSessionRegistry.find(sessionId).ifPresent(LiveSession::closeQuestion);
+        responseWriter.flush();
+        return transactionTemplate.execute(status -> {
+            GameSession session = sessionRepository.findById(sessionId)
+                    .orElseThrow(() -> new RuntimeException("Session not found"));
+            session.setStatus(GameSession.SessionStatus.SHOWING_RESULTS);
+            return toDTO(sessionRepository.save(session));
+        });
     }
 
-    @Transactional
+    /**
+     * Never finishes a session whose answers are not all in the database; flushed
+     * outside the transaction like {@link #endQuestion(Long)}
+     */
     public SessionDTO finishSession(Long sessionId) {
-        GameSession session = sessionRepository.findById(sessionId)
-                .orElseThrow(() -> new RuntimeException("Session not found"));
-
-        session.setStatus(GameSession.SessionStatus.FINISHED);
-        return toDTO(sessionRepository.save(session));
+        liveSessionRegistry.find(sessionId).ifPresent(LiveSession::closeQuestion);
+        responseWriter.flush();
+        return transactionTemplate.execute(status -> {
+            GameSession session = sessionRepository.findById(sessionId)
+                    .orElseThrow(() -> new RuntimeException("Session not found"));
+            session.setStatus(GameSession.SessionStatus.FINISHED);
+            liveSessionRegistry.remove(sessionId);
+            joinAdmissionRegistry.remove(session.getId(), session.getCode());
+            return toDTO(sessionRepository.save(session));
+        });
     }
 
     public List<ParticipantDTO> getParticipants(Long sessionId) {
+        Optional<LiveSession> live = liveSessionRegistry.find(sessionId);
+        if (live.isPresent()) {
+            return toRankedParticipantDTOs(live.get(), live.get().getLeaderboard().snapshot());
+        }
+
         List<Participant> participants = participantRepository.findBySessionIdOrderByScoreDesc(sessionId);
         return toRankedParticipantDTOs(participants);
     }
 
     public ScoreboardDTO getScoreboard(Long sessionId) {
+        return getScoreboard(sessionId, null);
+    }
+
+    /**
+     * Scoreboard limited to the best {@code top} participants (all if null).
+     * Served from the in-memory leaderboard while the session is live.
+     */
+    public ScoreboardDTO getScoreboard(Long sessionId, Integer top) {
+        Optional<LiveSession> live = liveSessionRegistry.find(sessionId);
+        if (live.isPresent()) {
+            return toScoreboard(live.get(), top);
+        }
+
         GameSession session = sessionRepository.findById(sessionId)
                 .orElseThrow(() -> new RuntimeException("Session not found"));
 
         List<Participant> participants = participantRepository.findBySessionIdOrderByScoreDesc(sessionId);
-        List<ParticipantDTO> rankings = toRankedParticipantDTOs(participants);
+        List<ParticipantDTO> rankings = toRankedParticipantDTOs(
+                top != null ? participants.subList(0, Math.min(top, participants.size())) : participants);
 
         int totalQuestions = session.getQuiz().getQuestions().size();
         int answered = session.getCurrentQuestionIndex() + 1;
@@ -177,17 +241,16 @@ public class SessionService {
         return scoreboard;
     }
 
-    private String generateUniqueCode() {
-        String code;
-        do {
-            StringBuilder sb = new StringBuilder(CODE_LENGTH);
-            for (int i = 0; i < CODE_LENGTH; i++) {
-                sb.append(CODE_CHARACTERS.charAt(random.nextInt(CODE_CHARACTERS.length())));
-            }
-            code = sb.toString();
-        } while (sessionRepository.existsByCode(code));
+    public static ScoreboardDTO toScoreboard(LiveSession live, Integer top) {
+        Leaderboard leaderboard = live.getLeaderboard();
+        List<Leaderboard.Entry> entries = top != null ? leaderboard.top(top) : leaderboard.snapshot();
 
-        return code;
+        ScoreboardDTO scoreboard = new ScoreboardDTO();
+        scoreboard.setRankings(toRankedParticipantDTOs(live, entries));
+        scoreboard.setTotalParticipants(leaderboard.size());
+        scoreboard.setTotalQuestions(live.getQuestions().size());
+        scoreboard.setQuestionsAnswered(Math.max(0, live.getCurrentQuestionIndex() + 1));
+        return scoreboard;
     }
 
     public SessionDTO toDTO(GameSession session) {
@@ -206,7 +269,7 @@ public class SessionService {
         return dto;
     }
 
-    public ParticipantDTO toParticipantDTO(Participant participant, int rank) {
+    public static ParticipantDTO toParticipantDTO(Participant participant, int rank) {
         ParticipantDTO dto = new ParticipantDTO();
         dto.setId(participant.getId());
         dto.setFirstName(participant.getFirstName());
@@ -217,38 +280,27 @@ public class SessionService {
         return dto;
     }
 
-    private List<ParticipantDTO> toRankedParticipantDTOs(List<Participant> participants) {
-        return participants.stream()
-                .map(p -> toParticipantDTO(p, participants.indexOf(p) + 1))
-                .collect(Collectors.toList());
+    static List<ParticipantDTO> toRankedParticipantDTOs(List<Participant> participants) {
+        List<ParticipantDTO> rankings = new ArrayList<>(participants.size());
+        for (Participant participant : participants) {
+            rankings.add(toParticipantDTO(participant, rankings.size() + 1));
+        }
+        return rankings;
     }
 
-    private QuestionDTO toQuestionDTOForParticipant(Question question, boolean shuffleAnswers) {
-        QuestionDTO dto = new QuestionDTO();
-        dto.setId(question.getId());
-        dto.setText(question.getText());
-        dto.setTimeLimit(question.getEffectiveTimeLimit());
-        dto.setMediaUrl(question.getMediaUrl());
-        dto.setQuestionOrder(question.getQuestionOrder());
-
-        List<Answer> answers = question.getAnswers();
-        if (shuffleAnswers) {
-            answers = new java.util.ArrayList<>(answers);
-            Collections.shuffle(answers);
+    static List<ParticipantDTO> toRankedParticipantDTOs(LiveSession live, List<Leaderboard.Entry> entries) {
+        List<ParticipantDTO> rankings = new ArrayList<>(entries.size());
+        for (Leaderboard.Entry entry : entries) {
+            LiveParticipant participant = live.getParticipant(entry.getParticipantId());
+            ParticipantDTO dto = new ParticipantDTO();
+            dto.setId(entry.getParticipantId());
+            dto.setFirstName(participant.getFirstName());
+            dto.setLastName(participant.getLastName());
+            dto.setTotalScore(entry.getScore());
+            dto.setRank(rankings.size() + 1);
+            dto.setIsConnected(participant.getIsConnected());
+            rankings.add(dto);
         }
-
-        // Don't send isCorrect to participants
-        dto.setAnswers(answers.stream()
-                .map(a -> {
-                    AnswerDTO aDto = new AnswerDTO();
-                    aDto.setId(a.getId());
-                    aDto.setLabel(a.getLabel());
-                    aDto.setText(a.getText());
-                    aDto.setIsCorrect(null); // Hide correct answer
-                    return aDto;
-                })
-                .collect(Collectors.toList()));
-
-        return dto;
+        return rankings;
     }
 }
@@ -0,0 +1,85 @@
+package com.quiz.live;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AnsweredBitsetTest {
+
+    private static final int PAGE = 4096;
+
+    @Test
+    void secondClaimOfSameOrdinalFails() {
+        AnsweredBitset answered = new AnsweredBitset();
+        assertThat(answered.mark(17)).isTrue();
+        assertThat(answered.mark(17)).isFalse();
+        assertThat(answered.isMarked(17)).isTrue();
+    }
+
+    @Test
+    void claimsOnEitherSideOfPageBoundaryAreIndependent() {
+        AnsweredBitset answered = new AnsweredBitset();
+        assertThat(answered.mark(PAGE - 1)).isTrue();
+        assertThat(answered.isMarked(PAGE)).isFalse();
+
+        assertThat(answered.mark(PAGE)).isTrue();
+        assertThat(answered.mark(PAGE)).isFalse();
+        assertThat(answered.mark(PAGE - 1)).isFalse();
+
+        // Same bit position within the page and word, different page
+        assertThat(answered.isMarked(0)).isFalse();
+        assertThat(answered.mark(0)).isTrue();
+        assertThat(answered.mark(2 * PAGE)).isTrue();
+        assertThat(answered.isMarked(PAGE + 1)).isFalse();
+    }
+
+    @Test
+    void clearAllowsAnotherClaim() {
+        AnsweredBitset answered = new AnsweredBitset();
+        assertThat(answered.mark(PAGE + 63)).isTrue();
+        answered.clear(PAGE + 63);
+        assertThat(answered.isMarked(PAGE + 63)).isFalse();
+        assertThat(answered.mark(PAGE + 63)).isTrue();
+    }
+
+    @Test
+    void concurrentClaimsSucceedExactlyOnce() throws Exception {
+        AnsweredBitset answered = new AnsweredBitset();
+        int ordinals = 3 * PAGE;
+        AtomicInteger claimed = new AtomicInteger();
+        ExecutorService threads = Executors.newFixedThreadPool(8);
+        try {
+            Future<?>[] workers = new Future<?>[8];
+            for (int t = 0; t < workers.length; t++) {
+                workers[t] = threads.submit(() -> {
+                    for (int ordinal = 0; ordinal < ordinals; ordinal++) {
+                        if (answered.mark(ordinal)) {
+                            claimed.incrementAndGet();
+                        }
+                    }
+                });
+            }
+            for (Future<?> worker : workers) {
+                worker.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            threads.shutdownNow();
+        }
+        assertThat(claimed.get()).isEqualTo(ordinals);
+    }
+
+    @Test
+    void rejectsOrdinalsOutOfRange() {
+        AnsweredBitset answered = new AnsweredBitset();
+        assertThatThrownBy(() -> answered.mark(-1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> answered.mark(1024 * PAGE)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(answered.mark(1024 * PAGE - 1)).isTrue();
+    }
+}
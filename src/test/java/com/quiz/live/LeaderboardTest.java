@@ -0,0 +1,94 @@
+package com.quiz.live;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LeaderboardTest {
+
+    // Same order as the leaderboard: score desc, response time asc, participant id asc
+    private static final Comparator<long[]> ORACLE_ORDER = Comparator
+            .comparingLong((long[] e) -> -e[1])
+            .thenComparingLong(e -> e[2])
+            .thenComparingLong(e -> e[0]);
+
+    @Test
+    void tiesOnScoreAreBrokenByResponseTimeThenParticipantId() {
+        Leaderboard leaderboard = new Leaderboard();
+        leaderboard.update(1L, 100, 900);
+        leaderboard.update(2L, 100, 300);
+        leaderboard.update(3L, 200, 5000);
+        leaderboard.update(4L, 100, 300);
+
+        assertThat(ids(leaderboard.snapshot())).containsExactly(3L, 2L, 4L, 1L);
+        assertThat(leaderboard.rank(3L)).isEqualTo(1);
+        assertThat(leaderboard.rank(2L)).isEqualTo(2);
+        assertThat(leaderboard.rank(4L)).isEqualTo(3);
+        assertThat(leaderboard.rank(1L)).isEqualTo(4);
+    }
+
+    @Test
+    void updateMovesParticipantAndRemoveDropsThem() {
+        Leaderboard leaderboard = new Leaderboard();
+        leaderboard.update(1L, 0, 0);
+        leaderboard.update(2L, 0, 0);
+
+        leaderboard.update(2L, 50, 1200);
+        assertThat(ids(leaderboard.top(1))).containsExactly(2L);
+
+        leaderboard.remove(2L);
+        assertThat(leaderboard.rank(2L)).isZero();
+        assertThat(leaderboard.size()).isEqualTo(1);
+        assertThat(ids(leaderboard.top(10))).containsExactly(1L);
+    }
+
+    @Test
+    void matchesSortedListUnderRandomUpdates() {
+        Random random = new Random(42);
+        Leaderboard leaderboard = new Leaderboard();
+        Map<Long, long[]> oracle = new HashMap<>();
+
+        for (int step = 0; step < 20_000; step++) {
+            long participantId = random.nextInt(300);
+            if (random.nextInt(20) == 0) {
+                leaderboard.remove(participantId);
+                oracle.remove(participantId);
+            } else {
+                // Narrow ranges so ties on score and on response time are common
+                int score = random.nextInt(8) * 100;
+                long responseTime = random.nextInt(4) * 250L;
+                leaderboard.update(participantId, score, responseTime);
+                oracle.put(participantId, new long[] { participantId, score, responseTime });
+            }
+
+            if (step % 500 == 0) {
+                assertMatches(leaderboard, oracle);
+            }
+        }
+        assertMatches(leaderboard, oracle);
+    }
+
+    private static void assertMatches(Leaderboard leaderboard, Map<Long, long[]> oracle) {
+        List<long[]> sorted = new ArrayList<>(oracle.values());
+        sorted.sort(ORACLE_ORDER);
+        List<Long> expected = sorted.stream().map(e -> e[0]).toList();
+
+        assertThat(leaderboard.size()).isEqualTo(expected.size());
+        assertThat(ids(leaderboard.snapshot())).isEqualTo(expected);
+        assertThat(ids(leaderboard.top(10))).isEqualTo(expected.subList(0, Math.min(10, expected.size())));
+        for (int i = 0; i < expected.size(); i++) {
+            assertThat(leaderboard.rank(expected.get(i))).isEqualTo(i + 1);
+        }
+    }
+
+    private static List<Long> ids(List<Leaderboard.Entry> entries) {
+        return entries.stream().map(Leaderboard.Entry::getParticipantId).toList();
+    }
+}
@@ -0,0 +1,71 @@
+package com.quiz.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CodePermutationTest {
+
+    private final CodePermutation permutation = new CodePermutation("test-secret");
+
+    @Test
+    void consecutiveIndicesGiveDistinctCodes() {
+        Set<String> codes = new HashSet<>();
+        for (long index = 0; index < 100_000; index++) {
+            String code = permutation.code(index);
+            assertValid(code);
+            assertThat(codes.add(code)).as("duplicate code %s at index %d", code, index).isTrue();
+        }
+    }
+
+    @Test
+    void indicesSampledAcrossTheSpaceGiveDistinctCodes() {
+        Random random = new Random(7);
+        Set<Long> indices = new HashSet<>();
+        Set<String> codes = new HashSet<>();
+        // Include both ends: the largest index must still map inside 36^6
+        indices.add(CodePermutation.SIZE - 1);
+        indices.add(CodePermutation.SIZE - 2);
+        while (indices.size() < 50_000) {
+            indices.add(Math.floorMod(random.nextLong(), CodePermutation.SIZE));
+        }
+        for (long index : indices) {
+            String code = permutation.code(index);
+            assertValid(code);
+            codes.add(code);
+        }
+        assertThat(codes).hasSameSizeAs(indices);
+    }
+
+    @Test
+    void sameSecretGivesSameSequence() {
+        CodePermutation other = new CodePermutation("test-secret");
+        CodePermutation rekeyed = new CodePermutation("other-secret");
+        for (long index = 0; index < 100; index++) {
+            assertThat(other.code(index)).isEqualTo(permutation.code(index));
+        }
+        assertThat(rekeyed.code(0)).isNotEqualTo(permutation.code(0));
+    }
+
+    @Test
+    void rejectsIndicesOutsideTheCodeSpace() {
+        assertThatThrownBy(() -> permutation.code(-1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> permutation.code(CodePermutation.SIZE)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void assertValid(String code) {
+        assertThat(code).hasSize(CodePermutation.LENGTH);
+        long value = 0;
+        for (char c : code.toCharArray()) {
+            int digit = CodePermutation.ALPHABET.indexOf(c);
+            assertThat(digit).as("character %s of %s", c, code).isNotNegative();
+            value = value * CodePermutation.ALPHABET.length() + digit;
+        }
+        assertThat(value).isBetween(0L, CodePermutation.SIZE - 1);
+    }
+}